@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * BenchmarkData
+ *
+ * Pre-boxed keys and pre-drawn random probes, so the measured methods time the
+ * data structure and not Integer.valueOf or Random.
+ */
+public final class BenchmarkData {
+
+    public static final int PROBES = 1 << 12;
+
+    private BenchmarkData() {
+    }
+
+    // 0, 1, ..., size - 1 as Integers
+    public static Integer[] keys(int size) {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        return keys;
+    }
+
+    // PROBES random indexes in [0, bound)
+    public static int[] probes(int bound, long seed) {
+        Random random = new Random(seed);
+        int[] probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(bound);
+        }
+        return probes;
+    }
+}
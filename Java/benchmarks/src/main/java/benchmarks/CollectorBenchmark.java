@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import collections.Util.Address;
+import collections.Util.Person;
+import collections.map.IntLongHashMap;
+import java8.StreamAPI.PrimitiveCollectors;
+
+/**
+ * CollectorBenchmark
+ *
+ * Counting persons per age with Collectors.groupingBy(.., counting()) against
+ * PrimitiveCollectors.countingToIntLongMap, sequential and parallel. keys sets
+ * the number of distinct ages, the parallel runs show the merge cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectorBenchmark {
+
+    @Param({ "1000000" })
+    public int size;
+
+    @Param({ "100", "100000" })
+    public int keys;
+
+    private List<Person> persons;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Address address = new Address(1, "MG Road", "Bangalore", "Karnataka", "India");
+        persons = IntStream.range(0, size)
+                .mapToObj(i -> new Person("p" + i, random.nextInt(keys), address, "9999999999"))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCounting() {
+        return persons.stream().collect(Collectors.groupingBy(Person::getAge, Collectors.counting()));
+    }
+
+    @Benchmark
+    public IntLongHashMap countingToIntLongMap() {
+        return persons.stream().collect(PrimitiveCollectors.countingToIntLongMap(Person::getAge));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> parallelGroupingByCounting() {
+        return persons.parallelStream().collect(Collectors.groupingBy(Person::getAge, Collectors.counting()));
+    }
+
+    @Benchmark
+    public IntLongHashMap parallelCountingToIntLongMap() {
+        return persons.parallelStream().collect(PrimitiveCollectors.countingToIntLongMap(Person::getAge));
+    }
+}
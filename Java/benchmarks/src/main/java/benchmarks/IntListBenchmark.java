@@ -0,0 +1,103 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import collections.list.IntArrayList;
+
+/**
+ * IntListBenchmark
+ *
+ * IntArrayList against ArrayList&lt;Integer&gt;: filling, summing and converting to
+ * int[] the way ArrayList1 does. Values go past the Integer cache so boxing
+ * really allocates, check gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntListBenchmark {
+
+    @Param({ "1000", "100000", "10000000" })
+    public int size;
+
+    private List<Integer> boxed;
+
+    private IntArrayList ints;
+
+    @Setup
+    public void setup() {
+        boxed = new ArrayList<>(size);
+        ints = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            boxed.add(i + 1000);
+            ints.add(i + 1000);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> fillBoxed() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i + 1000);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList fillInts() {
+        IntArrayList list = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i + 1000);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long sumBoxed() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxed.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumInts() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ints.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] toArrayBoxed() {
+        Object[] objects = boxed.toArray();
+        int[] result = new int[objects.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) objects[i];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] toArrayInts() {
+        return ints.toArray();
+    }
+}
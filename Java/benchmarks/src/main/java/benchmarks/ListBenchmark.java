@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ListBenchmark
+ *
+ * The List implementations from collections.list: get, add/remove at both ends and
+ * in the middle, iteration, contains and Collections.binarySearch.
+ * Mutating benchmarks add then remove, so the list keeps its size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+    @Param({ "ArrayList", "LinkedList", "Vector" })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    private List<Integer> list;
+
+    private Integer[] keys;
+
+    private int[] probes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        keys = BenchmarkData.keys(size);
+        probes = BenchmarkData.probes(size, 42);
+        switch (impl) {
+            case "ArrayList":
+                list = new ArrayList<>(Arrays.asList(keys));
+                break;
+            case "LinkedList":
+                list = new LinkedList<>(Arrays.asList(keys));
+                break;
+            case "Vector":
+                list = new Vector<>(Arrays.asList(keys));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown list " + impl);
+        }
+    }
+
+    private int probe() {
+        return probes[next++ & (BenchmarkData.PROBES - 1)];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(probe());
+    }
+
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(keys[0]);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer addRemoveFirst() {
+        list.add(0, keys[0]);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer addRemoveMiddle() {
+        int middle = size / 2;
+        list.add(middle, keys[0]);
+        return list.remove(middle);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer value : list) {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(keys[probe()]);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return Collections.binarySearch(list, keys[probe()]);
+    }
+}
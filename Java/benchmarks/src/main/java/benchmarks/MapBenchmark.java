@@ -0,0 +1,108 @@
+package benchmarks;
+
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * MapBenchmark
+ *
+ * The Map implementations from collections.map with Integer keys, the way
+ * CollectionsUtitlity.getPersonsMap() keys persons: get, containsKey, put/remove
+ * and iteration over the entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    @Param({ "HashMap", "LinkedHashMap", "TreeMap", "Hashtable", "ConcurrentHashMap" })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    private Map<Integer, Integer> map;
+
+    private Integer[] keys;
+
+    private int[] probes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        keys = BenchmarkData.keys(size);
+        probes = BenchmarkData.probes(size, 42);
+        switch (impl) {
+            case "HashMap":
+                map = new HashMap<>();
+                break;
+            case "LinkedHashMap":
+                map = new LinkedHashMap<>();
+                break;
+            case "TreeMap":
+                map = new TreeMap<>();
+                break;
+            case "Hashtable":
+                map = new Hashtable<>();
+                break;
+            case "ConcurrentHashMap":
+                map = new ConcurrentHashMap<>();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown map " + impl);
+        }
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    private Integer probeKey() {
+        return keys[probes[next++ & (BenchmarkData.PROBES - 1)]];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(probeKey());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(probeKey());
+    }
+
+    @Benchmark
+    public Integer removePut() {
+        Integer key = probeKey();
+        map.remove(key);
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+            bh.consume(e.getValue());
+        }
+    }
+}
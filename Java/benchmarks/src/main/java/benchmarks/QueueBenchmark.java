@@ -0,0 +1,100 @@
+package benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * QueueBenchmark
+ *
+ * The Queue implementations from collections.queue: offer/poll at a steady size,
+ * peek, contains and iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    @Param({ "ArrayDeque", "LinkedList", "PriorityQueue", "PriorityBlockingQueue" })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    private Queue<Integer> queue;
+
+    private Integer[] keys;
+
+    private int[] probes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        keys = BenchmarkData.keys(size);
+        probes = BenchmarkData.probes(size, 42);
+        switch (impl) {
+            case "ArrayDeque":
+                queue = new ArrayDeque<>(Arrays.asList(keys));
+                break;
+            case "LinkedList":
+                queue = new LinkedList<>(Arrays.asList(keys));
+                break;
+            case "PriorityQueue":
+                queue = new PriorityQueue<>(Arrays.asList(keys));
+                break;
+            case "PriorityBlockingQueue":
+                queue = new PriorityBlockingQueue<>(Arrays.asList(keys));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue " + impl);
+        }
+    }
+
+    private Integer probeKey() {
+        return keys[probes[next++ & (BenchmarkData.PROBES - 1)]];
+    }
+
+    @Benchmark
+    public Integer offerPoll() {
+        queue.offer(probeKey());
+        return queue.poll();
+    }
+
+    @Benchmark
+    public Integer peek() {
+        return queue.peek();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return queue.contains(probeKey());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer value : queue) {
+            bh.consume(value);
+        }
+    }
+}
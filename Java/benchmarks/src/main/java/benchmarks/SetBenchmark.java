@@ -0,0 +1,91 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * SetBenchmark
+ *
+ * The Set implementations from collections.set: contains, add/remove and iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmark {
+
+    @Param({ "HashSet", "LinkedHashSet", "TreeSet" })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    private Set<Integer> set;
+
+    private Integer[] keys;
+
+    private int[] probes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        keys = BenchmarkData.keys(size);
+        probes = BenchmarkData.probes(size, 42);
+        switch (impl) {
+            case "HashSet":
+                set = new HashSet<>(Arrays.asList(keys));
+                break;
+            case "LinkedHashSet":
+                set = new LinkedHashSet<>(Arrays.asList(keys));
+                break;
+            case "TreeSet":
+                set = new TreeSet<>(Arrays.asList(keys));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown set " + impl);
+        }
+    }
+
+    private Integer probeKey() {
+        return keys[probes[next++ & (BenchmarkData.PROBES - 1)]];
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(probeKey());
+    }
+
+    @Benchmark
+    public boolean removeAdd() {
+        Integer key = probeKey();
+        set.remove(key);
+        return set.add(key);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer value : set) {
+            bh.consume(value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package collections.Util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersonFileReaderTest {
+
+    // 64 byte segments instead of 1 GB, the same boundaries in a file of a few KB
+    private static final int SEGMENT_SHIFT = 6;
+
+    @Test
+    void stringsWhoseLengthPrefixCrossesASegmentAreRead(@TempDir Path dir) throws Exception {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // names of 1 to 9 bytes move the next length prefix to every offset of a segment
+            persons.add(new Person("n".repeat(1 + i % 9) + i % 10, 20 + i % 50, null, "98450" + (10000 + i)));
+        }
+        Path file = dir.resolve("persons.bin");
+        PersonFileWriter.write(file, persons);
+
+        assertTrue(prefixCrossesSegment(persons), "no length prefix crosses a segment, the test proves nothing");
+        try (PersonFileReader reader = new PersonFileReader(file, SEGMENT_SHIFT)) {
+            assertEquals(persons.size(), reader.size());
+            for (int row = 0; row < persons.size(); row++) {
+                Person expected = persons.get(row);
+                assertEquals(expected.getName(), reader.getName(row));
+                assertEquals(expected.getPhone_no(), reader.getPhone_no(row));
+                assertEquals(expected.getAge(), reader.getAge(row));
+                assertTrue(reader.cityEquals(row, null));
+            }
+        }
+    }
+
+    // the heap starts after the header and holds name then phone of each person, without addresses nothing is shared
+    private static boolean prefixCrossesSegment(List<Person> persons) {
+        long position = PersonFileWriter.HEADER_SIZE;
+        long segmentMask = (1L << SEGMENT_SHIFT) - 1;
+        boolean crosses = false;
+        for (Person p : persons) {
+            for (String s : new String[] { p.getName(), p.getPhone_no() }) {
+                crosses |= (position & segmentMask) > segmentMask + 1 - Integer.BYTES;
+                position += Integer.BYTES + s.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return crosses;
+    }
+}
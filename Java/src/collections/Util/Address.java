@@ -1,15 +1,15 @@
 package collections.Util;
 
 public class Address {
-    int door_no;
+    private int door_no;
 
-    String street;
+    private String street;
 
-    String city;
+    private String city;
 
-    String state;
+    private String state;
 
-    String country;
+    private String country;
 
     public int getDoor_no() {
         return door_no;
@@ -78,9 +78,7 @@ public class Address {
     public boolean equals(Object obj) {
         if (this == obj)
             return true;
-        if (obj == null)
-            return false;
-        if (getClass() != obj.getClass())
+        if (!(obj instanceof Address))
             return false;
         Address other = (Address) obj;
         if (door_no != other.door_no)
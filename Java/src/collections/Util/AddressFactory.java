@@ -0,0 +1,137 @@
+package collections.Util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AddressFactory
+ *
+ * Flyweight factory for Address. Equal addresses share one immutable instance and
+ * equal street/city/state/country values share one String, both kept in weak
+ * intern tables so unused values can still be garbage collected.
+ *
+ * savedBytes() estimates the heap saved: every time an equal Address or String
+ * already existed, the duplicate the caller would otherwise have kept is counted.
+ * Sizes assume a 64 bit JVM with compressed oops and compact strings.
+ */
+public class AddressFactory {
+
+    // object header 12 + int 4 + four references 4 each
+    static final int ADDRESS_BYTES = 32;
+
+    private static final AddressFactory DEFAULT = new AddressFactory();
+
+    private final WeakInterner<String> strings = new WeakInterner<>();
+
+    private final WeakInterner<Address> addresses = new WeakInterner<>();
+
+    private final LongAdder savedBytes = new LongAdder();
+
+    private final LongAdder addressHits = new LongAdder();
+
+    private final LongAdder stringHits = new LongAdder();
+
+    public static AddressFactory getDefault() {
+        return DEFAULT;
+    }
+
+    public Address of(int door_no, String street, String city, String state, String country) {
+        Address candidate = new CanonicalAddress(door_no, canonicalString(street), canonicalString(city),
+                canonicalString(state), canonicalString(country));
+        Address canonical = addresses.intern(candidate);
+        if (canonical != candidate) {
+            addressHits.increment();
+            savedBytes.add(ADDRESS_BYTES);
+        }
+        return canonical;
+    }
+
+    public Address canonical(Address a) {
+        if (a == null || (a instanceof CanonicalAddress && addresses.isCanonical(a))) {
+            return a;
+        }
+        return of(a.getDoor_no(), a.getStreet(), a.getCity(), a.getState(), a.getCountry());
+    }
+
+    public String canonicalString(String s) {
+        String canonical = strings.intern(s);
+        if (canonical != s) {
+            stringHits.increment();
+            savedBytes.add(estimateBytes(s));
+        }
+        return canonical;
+    }
+
+    // returns the person with its address replaced by the canonical one
+    public Person canonicalize(Person p) {
+        p.setAddress(canonical(p.getAddress()));
+        return p;
+    }
+
+    public long savedBytes() {
+        return savedBytes.sum();
+    }
+
+    public int distinctAddresses() {
+        return addresses.size();
+    }
+
+    public int distinctStrings() {
+        return strings.size();
+    }
+
+    @Override
+    public String toString() {
+        return "AddressFactory [distinctAddresses=" + distinctAddresses() + ", distinctStrings=" + distinctStrings()
+                + ", addressHits=" + addressHits.sum() + ", stringHits=" + stringHits.sum() + ", savedBytes="
+                + savedBytes() + "]";
+    }
+
+    // String object 24 bytes plus its byte[] (16 byte header, Latin-1 or UTF-16 payload, 8 byte aligned)
+    static long estimateBytes(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) <= 0xFF;
+        }
+        long payload = latin1 ? s.length() : 2L * s.length();
+        return 24 + ((16 + payload + 7) & ~7L);
+    }
+
+    /**
+     * Shared instances must not change, so the setters are disabled.
+     */
+    static final class CanonicalAddress extends Address {
+
+        CanonicalAddress(int door_no, String street, String city, String state, String country) {
+            super(door_no, street, city, state, country);
+        }
+
+        @Override
+        public void setDoor_no(int door_no) {
+            throw immutable();
+        }
+
+        @Override
+        public void setStreet(String street) {
+            throw immutable();
+        }
+
+        @Override
+        public void setCity(String city) {
+            throw immutable();
+        }
+
+        @Override
+        public void setState(String state) {
+            throw immutable();
+        }
+
+        @Override
+        public void setCountry(String country) {
+            throw immutable();
+        }
+
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("Canonical Address instances are shared and immutable");
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
+import collections.map.IntObjectHashMap;
+
 
 
 public class CollectionsUtitlity {
@@ -32,4 +34,16 @@ public class CollectionsUtitlity {
 
         return map;
     }
+
+    public static PersonTable getPersonsTable(){
+        return PersonTable.of(getPersonsList());
+    }
+
+    public static IndexedPersons getIndexedPersons(){
+        return new IndexedPersons(getPersonsList());
+    }
+
+    public static IntObjectHashMap<Person> getPersonsIntMap(){
+        return IntObjectHashMap.from(getPersonsMap());
+    }
 }
@@ -0,0 +1,196 @@
+package collections.Util;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * IndexedPersons
+ *
+ * Collection of Person records with secondary indexes:
+ * hash indexes on Address city, state and country, and a sorted index on age.
+ * A query that hits an index only touches the matching records instead of
+ * streaming every Person.
+ *
+ * Records are tracked by identity, so two equal Person objects are two records.
+ * The indexed fields are read when a record is added, a record must be removed
+ * before its age or address is changed and added again afterwards.
+ */
+public class IndexedPersons extends AbstractCollection<Person> {
+
+    private final Set<Person> all = newRecordSet();
+
+    private final Map<String, Set<Person>> byCity = new HashMap<>();
+
+    private final Map<String, Set<Person>> byState = new HashMap<>();
+
+    private final Map<String, Set<Person>> byCountry = new HashMap<>();
+
+    private final NavigableMap<Integer, Set<Person>> byAge = new TreeMap<>();
+
+    public IndexedPersons() {
+    }
+
+    public IndexedPersons(Collection<Person> persons) {
+        addAll(persons);
+    }
+
+    @Override
+    public boolean add(Person p) {
+        if (p == null) {
+            throw new NullPointerException("Person must not be null");
+        }
+        if (!all.add(p)) {
+            return false;
+        }
+        Address a = p.getAddress();
+        index(byCity, a == null ? null : a.getCity(), p);
+        index(byState, a == null ? null : a.getState(), p);
+        index(byCountry, a == null ? null : a.getCountry(), p);
+        index(byAge, p.getAge(), p);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Person) || !all.remove(o)) {
+            return false;
+        }
+        unindexAll((Person) o);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return all.contains(o);
+    }
+
+    @Override
+    public void clear() {
+        all.clear();
+        byCity.clear();
+        byState.clear();
+        byCountry.clear();
+        byAge.clear();
+    }
+
+    @Override
+    public int size() {
+        return all.size();
+    }
+
+    @Override
+    public Iterator<Person> iterator() {
+        Iterator<Person> it = all.iterator();
+        return new Iterator<Person>() {
+            Person last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Person next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                unindexAll(last);
+                last = null;
+            }
+        };
+    }
+
+    // ---------- indexed queries, read only views ----------
+
+    public Set<Person> byCity(String city) {
+        return lookup(byCity, city);
+    }
+
+    public Set<Person> byState(String state) {
+        return lookup(byState, state);
+    }
+
+    public Set<Person> byCountry(String country) {
+        return lookup(byCountry, country);
+    }
+
+    public Set<Person> byAge(int age) {
+        return lookup(byAge, age);
+    }
+
+    // persons with minInclusive <= age <= maxInclusive, in ascending age order
+    public List<Person> byAgeBetween(int minInclusive, int maxInclusive) {
+        if (minInclusive > maxInclusive) {
+            return Collections.emptyList();
+        }
+        List<Person> result = new ArrayList<>();
+        for (Set<Person> group : byAge.subMap(minInclusive, true, maxInclusive, true).values()) {
+            result.addAll(group);
+        }
+        return result;
+    }
+
+    // intersection of two index results, iterates only the smaller one
+    public static List<Person> both(Set<Person> a, Set<Person> b) {
+        Set<Person> small = a.size() <= b.size() ? a : b;
+        Set<Person> large = small == a ? b : a;
+        List<Person> result = new ArrayList<>();
+        for (Person p : small) {
+            if (large.contains(p)) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    public Set<String> cities() {
+        return Collections.unmodifiableSet(byCity.keySet());
+    }
+
+    // ---------- internals ----------
+
+    private void unindexAll(Person p) {
+        Address a = p.getAddress();
+        unindex(byCity, a == null ? null : a.getCity(), p);
+        unindex(byState, a == null ? null : a.getState(), p);
+        unindex(byCountry, a == null ? null : a.getCountry(), p);
+        unindex(byAge, p.getAge(), p);
+    }
+
+    private static <K> void index(Map<K, Set<Person>> index, K key, Person p) {
+        index.computeIfAbsent(key, k -> newRecordSet()).add(p);
+    }
+
+    private static <K> void unindex(Map<K, Set<Person>> index, K key, Person p) {
+        Set<Person> group = index.get(key);
+        if (group == null || !group.remove(p)) {
+            throw new IllegalStateException("Index out of sync, was " + p + " modified after it was added?");
+        }
+        if (group.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static <K> Set<Person> lookup(Map<K, Set<Person>> index, K key) {
+        Set<Person> group = index.get(key);
+        return group == null ? Collections.emptySet() : Collections.unmodifiableSet(group);
+    }
+
+    private static Set<Person> newRecordSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
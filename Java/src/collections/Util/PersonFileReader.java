@@ -0,0 +1,251 @@
+package collections.Util;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * PersonFileReader
+ *
+ * Read only, memory mapped view over a file written by PersonFileWriter.
+ * Opening the file only maps it, nothing is copied into the heap: primitive
+ * fields are read straight out of the mapping and strings are decoded only
+ * when asked for. Several JVMs mapping the same file share the OS page cache.
+ *
+ * The file is mapped in 1 GB segments because a single MappedByteBuffer cannot
+ * address more than 2 GB.
+ */
+public class PersonFileReader implements AutoCloseable {
+
+    private static final int SEGMENT_SHIFT = 30;
+
+    private final int segmentShift;
+
+    private final long segmentMask;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long count;
+
+    private final long heapOffset;
+
+    private final long tableOffset;
+
+    public PersonFileReader(Path path) throws IOException {
+        this(path, SEGMENT_SHIFT);
+    }
+
+    // smaller segments let tests cross segment boundaries without writing gigabytes
+    PersonFileReader(Path path, int segmentShift) throws IOException {
+        if (segmentShift < 3 || segmentShift > SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("Segment shift must be in 3.." + SEGMENT_SHIFT + ": " + segmentShift);
+        }
+        this.path = path;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < PersonFileWriter.HEADER_SIZE) {
+                throw new IOException(path + " is too small to be a person file");
+            }
+            long segmentSize = 1L << segmentShift;
+            int segmentCount = (int) ((fileSize + segmentSize - 1) >>> segmentShift);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i << segmentShift;
+                long size = Math.min(segmentSize, fileSize - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (getInt(0) != PersonFileWriter.MAGIC) {
+                throw new IOException(path + " is not a person file");
+            }
+            int version = getInt(4);
+            if (version != PersonFileWriter.VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            count = getLong(8);
+            heapOffset = getLong(16);
+            tableOffset = getLong(24);
+            if (tableOffset + count * PersonFileWriter.RECORD_SIZE > fileSize) {
+                throw new IOException(path + " is truncated");
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    // ---------- field accessors, row is 0 based ----------
+
+    public int getAge(long row) {
+        return getInt(record(row) + 48);
+    }
+
+    public int getDoor_no(long row) {
+        return getInt(record(row) + 52);
+    }
+
+    public boolean hasAddress(long row) {
+        return (getInt(record(row) + 56) & PersonFileWriter.FLAG_HAS_ADDRESS) != 0;
+    }
+
+    public String getName(long row) {
+        return readString(getLong(record(row)));
+    }
+
+    public String getPhone_no(long row) {
+        return readString(getLong(record(row) + 8));
+    }
+
+    public String getStreet(long row) {
+        return readString(getLong(record(row) + 16));
+    }
+
+    public String getCity(long row) {
+        return readString(getLong(record(row) + 24));
+    }
+
+    public String getState(long row) {
+        return readString(getLong(record(row) + 32));
+    }
+
+    public String getCountry(long row) {
+        return readString(getLong(record(row) + 40));
+    }
+
+    // compares the stored city with value byte by byte, without decoding it
+    public boolean cityEquals(long row, String value) {
+        return stringEquals(getLong(record(row) + 24), value);
+    }
+
+    public Address getAddress(long row) {
+        if (!hasAddress(row)) {
+            return null;
+        }
+        return new Address(getDoor_no(row), getStreet(row), getCity(row), getState(row), getCountry(row));
+    }
+
+    public Person getPerson(long row) {
+        return new Person(getName(row), getAge(row), getAddress(row), getPhone_no(row));
+    }
+
+    // lazy List<Person> view, each get() decodes one record from the mapping
+    public List<Person> asList() {
+        if (count > Integer.MAX_VALUE) {
+            throw new UnsupportedOperationException(count + " records do not fit in a List, use getPerson(long)");
+        }
+        return new AbstractList<Person>() {
+            @Override
+            public Person get(int index) {
+                return getPerson(index);
+            }
+
+            @Override
+            public int size() {
+                return (int) count;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the mappings stay valid until they are garbage collected
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "PersonFileReader [path=" + path + ", records=" + count + "]";
+    }
+
+    // ---------- internals ----------
+
+    private long record(long row) {
+        if (row < 0 || row >= count) {
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + count);
+        }
+        return tableOffset + row * PersonFileWriter.RECORD_SIZE;
+    }
+
+    /*
+     * The header and the record table are 8 byte aligned and a segment is a
+     * multiple of 8 bytes, so their ints and longs never straddle two segments.
+     * A string's length prefix in the heap follows the previous string's bytes
+     * and can start anywhere, near the end of a segment it is put together
+     * byte by byte.
+     */
+    private int getInt(long position) {
+        MappedByteBuffer segment = segments[(int) (position >>> segmentShift)];
+        int offset = (int) (position & segmentMask);
+        if (offset <= segment.limit() - Integer.BYTES) {
+            return segment.getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value |= (getByte(position + i) & 0xFF) << (8 * i); // little endian
+        }
+        return value;
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position >>> segmentShift)].getLong((int) (position & segmentMask));
+    }
+
+    private byte getByte(long position) {
+        return segments[(int) (position >>> segmentShift)].get((int) (position & segmentMask));
+    }
+
+    private String readString(long heapPosition) {
+        if (heapPosition == PersonFileWriter.NULL_POSITION) {
+            return null;
+        }
+        long position = heapOffset + heapPosition;
+        int length = getInt(position);
+        position += Integer.BYTES;
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            MappedByteBuffer segment = segments[(int) (position >>> segmentShift)];
+            int offset = (int) (position & segmentMask);
+            int chunk = Math.min(length - copied, segment.limit() - offset);
+            segment.get(offset, bytes, copied, chunk);
+            copied += chunk;
+            position += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(long heapPosition, String value) {
+        if (heapPosition == PersonFileWriter.NULL_POSITION || value == null) {
+            return heapPosition == PersonFileWriter.NULL_POSITION && value == null;
+        }
+        byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        long position = heapOffset + heapPosition;
+        if (getInt(position) != expected.length) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int i = 0; i < expected.length; i++) {
+            if (getByte(position + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
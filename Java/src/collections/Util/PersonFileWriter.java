@@ -0,0 +1,249 @@
+package collections.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PersonFileWriter
+ *
+ * Writes Person/Address records into the binary format read by PersonFileReader.
+ *
+ * File layout (little endian):
+ *   header : magic int, version int, record count long, heap offset long, table offset long
+ *   heap   : strings, each one an int byte length followed by its UTF-8 bytes
+ *   table  : one fixed size 64 byte record per person
+ *            name, phone_no, street, city, state, country : long heap positions (-1 = null)
+ *            age int, door_no int, flags int, padding int
+ *
+ * Records go to a temporary table file while the heap is streamed out, the table
+ * is appended on close, so the writer never holds the dataset in memory.
+ * Address strings repeat a lot and are written once per distinct value.
+ */
+public class PersonFileWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x5052534E; // "PRSN"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+
+    static final int RECORD_SIZE = 64;
+
+    static final int FLAG_HAS_ADDRESS = 1;
+
+    static final long NULL_POSITION = -1L;
+
+    // cap on remembered address strings so a file of unique streets cannot exhaust the heap
+    private static final int MAX_SHARED_STRINGS = 1 << 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+
+    private final Path tablePath;
+
+    private final FileChannel out;
+
+    private final FileChannel table;
+
+    private final ByteBuffer heapBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer tableBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final Map<String, Long> sharedStrings = new HashMap<>();
+
+    // position of the next heap byte, relative to the start of the heap
+    private long heapPosition;
+
+    private long count;
+
+    private boolean closed;
+
+    public PersonFileWriter(Path path) throws IOException {
+        this.path = path;
+        FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Path tablePath = null;
+        FileChannel table = null;
+        try {
+            tablePath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".table");
+            table = FileChannel.open(tablePath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            out.position(HEADER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            // the caller gets no writer to close, release what is already open
+            closeAfterFailure(e, table, out, tablePath);
+            throw e;
+        }
+        this.out = out;
+        this.tablePath = tablePath;
+        this.table = table;
+    }
+
+    public static void write(Path path, Collection<Person> persons) throws IOException {
+        try (PersonFileWriter writer = new PersonFileWriter(path)) {
+            writer.writeAll(persons);
+        }
+    }
+
+    public void writeAll(Collection<Person> persons) throws IOException {
+        for (Person p : persons) {
+            write(p);
+        }
+    }
+
+    public void write(Person p) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer for " + path + " is closed");
+        }
+        long name = writeString(p.getName());
+        long phone = writeString(p.getPhone_no());
+        Address a = p.getAddress();
+        long street = NULL_POSITION;
+        long city = NULL_POSITION;
+        long state = NULL_POSITION;
+        long country = NULL_POSITION;
+        int doorNo = 0;
+        int flags = 0;
+        if (a != null) {
+            flags |= FLAG_HAS_ADDRESS;
+            doorNo = a.getDoor_no();
+            street = writeSharedString(a.getStreet());
+            city = writeSharedString(a.getCity());
+            state = writeSharedString(a.getState());
+            country = writeSharedString(a.getCountry());
+        }
+        if (tableBuffer.remaining() < RECORD_SIZE) {
+            flush(tableBuffer, table);
+        }
+        tableBuffer.putLong(name).putLong(phone).putLong(street).putLong(city).putLong(state).putLong(country);
+        tableBuffer.putInt(p.getAge()).putInt(doorNo).putInt(flags).putInt(0);
+        count++;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // pad the heap so the record table starts 8 byte aligned
+            while ((heapPosition & 7) != 0) {
+                ensure(1);
+                heapBuffer.put((byte) 0);
+                heapPosition++;
+            }
+            flush(heapBuffer, out);
+            flush(tableBuffer, table);
+
+            long tableOffset = HEADER_SIZE + heapPosition;
+            long tableSize = table.size();
+            long done = 0;
+            while (done < tableSize) {
+                done += table.transferTo(done, tableSize - done, out.position(tableOffset + done));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(HEADER_SIZE).putLong(tableOffset).flip();
+            while (header.hasRemaining()) {
+                out.write(header, HEADER_SIZE - header.remaining());
+            }
+            out.force(false);
+        } finally {
+            try {
+                table.close();
+            } finally {
+                out.close();
+                Files.deleteIfExists(tablePath);
+            }
+        }
+    }
+
+    // ---------- internals ----------
+
+    private static void closeAfterFailure(Exception failure, FileChannel table, FileChannel out, Path tablePath) {
+        try {
+            if (table != null) {
+                table.close();
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            if (tablePath != null) {
+                Files.deleteIfExists(tablePath);
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private long writeSharedString(String s) throws IOException {
+        if (s == null) {
+            return NULL_POSITION;
+        }
+        Long known = sharedStrings.get(s);
+        if (known != null) {
+            return known;
+        }
+        long position = writeString(s);
+        if (sharedStrings.size() < MAX_SHARED_STRINGS) {
+            sharedStrings.put(s, position);
+        }
+        return position;
+    }
+
+    private long writeString(String s) throws IOException {
+        if (s == null) {
+            return NULL_POSITION;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        long position = heapPosition;
+        ensure(Integer.BYTES);
+        heapBuffer.putInt(bytes.length);
+        if (bytes.length > heapBuffer.capacity()) {
+            flush(heapBuffer, out);
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                out.write(wrapped);
+            }
+        } else {
+            ensure(bytes.length);
+            heapBuffer.put(bytes);
+        }
+        heapPosition += Integer.BYTES + bytes.length;
+        return position;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (heapBuffer.remaining() < bytes) {
+            flush(heapBuffer, out);
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
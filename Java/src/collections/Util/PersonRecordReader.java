@@ -0,0 +1,618 @@
+package collections.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PersonRecordReader
+ *
+ * Streams Person records out of a CSV or newline delimited JSON export one record
+ * at a time, so the input can be far bigger than the heap.
+ *
+ * CSV columns: name,age,door_no,street,city,state,country,phone_no
+ * (fields may be quoted, "" is an escaped quote, a header line is skipped if asked).
+ *
+ * NDJSON: one object per line, either flat or with a nested "address" object:
+ * {"name":"Harish","age":25,"address":{"door_no":1,"street":"..","city":"..","state":"..","country":".."},"phone_no":".."}
+ *
+ * Lines are scanned straight out of a reusable byte buffer, there is no
+ * String per line and no split(). Only the field values become Strings.
+ *
+ * Push: forEach(consumer). Pull: hasNext()/next(), spliterator() or stream().
+ * records(), bytes(), recordsPerSecond() and bytesPerSecond() report throughput.
+ * Not thread safe.
+ */
+public class PersonRecordReader implements Iterator<Person>, Closeable {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte[] NAME = bytes("name");
+    private static final byte[] AGE = bytes("age");
+    private static final byte[] ADDRESS = bytes("address");
+    private static final byte[] DOOR_NO = bytes("door_no");
+    private static final byte[] STREET = bytes("street");
+    private static final byte[] CITY = bytes("city");
+    private static final byte[] STATE = bytes("state");
+    private static final byte[] COUNTRY = bytes("country");
+    private static final byte[] PHONE_NO = bytes("phone_no");
+
+    private final InputStream in;
+
+    private final Format format;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int bufferPosition;
+
+    private int bufferLimit;
+
+    // current line, reused for every record
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    // unescaped copy of a quoted value, reused
+    private byte[] scratch = new byte[64];
+
+    private int cursor;
+
+    private long lineNumber;
+
+    private boolean eof;
+
+    private Person lookahead;
+
+    private long records;
+
+    private long bytes;
+
+    private final long startNanos = System.nanoTime();
+
+    // fields of the record being parsed
+    private String name;
+    private int age;
+    private int doorNo;
+    private String street;
+    private String city;
+    private String state;
+    private String country;
+    private String phoneNo;
+    private boolean hasAddress;
+
+    public PersonRecordReader(InputStream in, Format format) {
+        this(in, format, false);
+    }
+
+    public PersonRecordReader(InputStream in, Format format, boolean skipHeader) {
+        this.in = in;
+        this.format = format;
+        if (skipHeader && readLine()) {
+            lineNumber = 1;
+        }
+    }
+
+    public static PersonRecordReader csv(InputStream in) {
+        return new PersonRecordReader(in, Format.CSV, true);
+    }
+
+    public static PersonRecordReader ndjson(InputStream in) {
+        return new PersonRecordReader(in, Format.NDJSON);
+    }
+
+    // ---------- push ----------
+
+    public void forEach(Consumer<? super Person> action) {
+        forEachRemaining(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Person> action) {
+        if (lookahead != null) {
+            Person p = lookahead;
+            lookahead = null;
+            action.accept(p);
+        }
+        Person p;
+        while ((p = parseNext()) != null) {
+            action.accept(p);
+        }
+    }
+
+    // ---------- pull ----------
+
+    @Override
+    public boolean hasNext() {
+        if (lookahead == null) {
+            lookahead = parseNext();
+        }
+        return lookahead != null;
+    }
+
+    @Override
+    public Person next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Person p = lookahead;
+        lookahead = null;
+        return p;
+    }
+
+    public Spliterator<Person> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    public Stream<Person> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::closeUnchecked);
+    }
+
+    // ---------- throughput ----------
+
+    public long records() {
+        return records;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    public double recordsPerSecond() {
+        return records / elapsedSeconds();
+    }
+
+    public double bytesPerSecond() {
+        return bytes / elapsedSeconds();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PersonRecordReader [format=%s, records=%d, bytes=%d, records/s=%.0f, bytes/s=%.0f]",
+                format, records, bytes, recordsPerSecond(), bytesPerSecond());
+    }
+
+    // ---------- parsing ----------
+
+    private Person parseNext() {
+        while (readLine()) {
+            lineNumber++;
+            if (isBlank()) {
+                continue;
+            }
+            name = street = city = state = country = phoneNo = null;
+            age = doorNo = 0;
+            hasAddress = false;
+            cursor = 0;
+            if (format == Format.CSV) {
+                parseCsv();
+            } else {
+                parseJson();
+            }
+            records++;
+            Address address = hasAddress ? new Address(doorNo, street, city, state, country) : null;
+            return new Person(name, age, address, phoneNo);
+        }
+        return null;
+    }
+
+    private void parseCsv() {
+        hasAddress = true;
+        name = csvString();
+        age = csvInt();
+        doorNo = csvInt();
+        street = csvString();
+        city = csvString();
+        state = csvString();
+        country = csvString();
+        phoneNo = csvString();
+        // the last field consumed the whole line, anything left is a ninth column
+        if (cursor <= lineLength) {
+            throw malformed("expected 8 columns");
+        }
+    }
+
+    private String csvString() {
+        if (cursor > lineLength) {
+            throw malformed("expected 8 columns");
+        }
+        String value;
+        if (cursor < lineLength && line[cursor] == '"') {
+            int length = 0;
+            cursor++;
+            while (true) {
+                if (cursor >= lineLength) {
+                    throw malformed("unterminated quoted field");
+                }
+                byte b = line[cursor++];
+                if (b == '"') {
+                    if (cursor < lineLength && line[cursor] == '"') {
+                        cursor++;
+                    } else {
+                        break;
+                    }
+                }
+                length = appendScratch(length, b);
+            }
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        } else {
+            int start = cursor;
+            while (cursor < lineLength && line[cursor] != ',') {
+                cursor++;
+            }
+            value = cursor == start ? null : new String(line, start, cursor - start, StandardCharsets.UTF_8);
+        }
+        if (cursor < lineLength && line[cursor] != ',') {
+            throw malformed("expected ',' after quoted field");
+        }
+        cursor++;
+        return value;
+    }
+
+    private int csvInt() {
+        if (cursor > lineLength) {
+            throw malformed("expected 8 columns");
+        }
+        int value = parseInt();
+        if (cursor < lineLength && line[cursor] != ',') {
+            throw malformed("expected a number");
+        }
+        cursor++;
+        return value;
+    }
+
+    private void parseJson() {
+        expect('{');
+        parseJsonObject(false);
+    }
+
+    // reads "key": value pairs up to the closing brace, '{' already consumed
+    private void parseJsonObject(boolean inAddress) {
+        skipSpaces();
+        if (peekByte() == '}') {
+            cursor++;
+            return;
+        }
+        while (true) {
+            skipSpaces();
+            expect('"');
+            int keyStart = cursor;
+            while (cursor < lineLength && line[cursor] != '"') {
+                cursor++;
+            }
+            int keyEnd = cursor;
+            expect('"');
+            skipSpaces();
+            expect(':');
+            skipSpaces();
+            if (keyIs(keyStart, keyEnd, ADDRESS) && !inAddress) {
+                if (peekByte() == 'n') {
+                    jsonNull();
+                } else {
+                    expect('{');
+                    hasAddress = true;
+                    parseJsonObject(true);
+                }
+            } else if (keyIs(keyStart, keyEnd, NAME)) {
+                name = jsonString();
+            } else if (keyIs(keyStart, keyEnd, AGE)) {
+                age = parseInt();
+            } else if (keyIs(keyStart, keyEnd, PHONE_NO)) {
+                phoneNo = jsonString();
+            } else if (keyIs(keyStart, keyEnd, DOOR_NO)) {
+                hasAddress = true;
+                doorNo = parseInt();
+            } else if (keyIs(keyStart, keyEnd, STREET)) {
+                hasAddress = true;
+                street = jsonString();
+            } else if (keyIs(keyStart, keyEnd, CITY)) {
+                hasAddress = true;
+                city = jsonString();
+            } else if (keyIs(keyStart, keyEnd, STATE)) {
+                hasAddress = true;
+                state = jsonString();
+            } else if (keyIs(keyStart, keyEnd, COUNTRY)) {
+                hasAddress = true;
+                country = jsonString();
+            } else {
+                skipJsonValue();
+            }
+            skipSpaces();
+            byte b = nextByte();
+            if (b == '}') {
+                return;
+            }
+            if (b != ',') {
+                throw malformed("expected ',' or '}'");
+            }
+        }
+    }
+
+    private String jsonString() {
+        if (peekByte() == 'n') {
+            jsonNull();
+            return null;
+        }
+        expect('"');
+        int start = cursor;
+        while (cursor < lineLength && line[cursor] != '"' && line[cursor] != '\\') {
+            cursor++;
+        }
+        if (cursor < lineLength && line[cursor] == '"') {
+            // no escapes, decode straight out of the line buffer
+            String value = new String(line, start, cursor - start, StandardCharsets.UTF_8);
+            cursor++;
+            return value;
+        }
+        int length = 0;
+        for (int i = start; i < cursor; i++) {
+            length = appendScratch(length, line[i]);
+        }
+        while (true) {
+            byte b = nextByte();
+            if (b == '"') {
+                return new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            if (b != '\\') {
+                length = appendScratch(length, b);
+                continue;
+            }
+            byte e = nextByte();
+            switch (e) {
+                case 'n':
+                    length = appendScratch(length, (byte) '\n');
+                    break;
+                case 't':
+                    length = appendScratch(length, (byte) '\t');
+                    break;
+                case 'r':
+                    length = appendScratch(length, (byte) '\r');
+                    break;
+                case 'b':
+                    length = appendScratch(length, (byte) '\b');
+                    break;
+                case 'f':
+                    length = appendScratch(length, (byte) '\f');
+                    break;
+                case 'u':
+                    length = appendCodeUnit(length, parseHex4());
+                    break;
+                default:
+                    length = appendScratch(length, e);
+            }
+        }
+    }
+
+    private void skipJsonValue() {
+        byte b = peekByte();
+        if (b == '"') {
+            jsonString();
+        } else if (b == '{' || b == '[') {
+            int depth = 0;
+            boolean inString = false;
+            do {
+                byte c = nextByte();
+                if (inString) {
+                    if (c == '\\') {
+                        nextByte();
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            while (cursor < lineLength && line[cursor] != ',' && line[cursor] != '}') {
+                cursor++;
+            }
+        }
+    }
+
+    private void jsonNull() {
+        if (cursor + 4 > lineLength || line[cursor] != 'n' || line[cursor + 1] != 'u' || line[cursor + 2] != 'l'
+                || line[cursor + 3] != 'l') {
+            throw malformed("expected null");
+        }
+        cursor += 4;
+    }
+
+    private int parseInt() {
+        while (cursor < lineLength && line[cursor] == ' ') {
+            cursor++;
+        }
+        boolean negative = cursor < lineLength && line[cursor] == '-';
+        if (negative) {
+            cursor++;
+        }
+        int start = cursor;
+        long value = 0;
+        while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') {
+            value = value * 10 + (line[cursor++] - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw malformed("number out of int range");
+            }
+        }
+        if (cursor == start) {
+            if (negative) {
+                throw malformed("expected a number");
+            }
+            return 0;
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw malformed("number out of int range");
+        }
+        while (cursor < lineLength && line[cursor] == ' ') {
+            cursor++;
+        }
+        return (int) value;
+    }
+
+    private int parseHex4() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int d = Character.digit(nextByte(), 16);
+            if (d < 0) {
+                throw malformed("bad \\u escape");
+            }
+            value = value * 16 + d;
+        }
+        return value;
+    }
+
+    // appends a UTF-16 code unit as UTF-8, surrogate pairs are combined when both halves are escaped
+    private int appendCodeUnit(int length, int unit) {
+        int codePoint = unit;
+        if (Character.isHighSurrogate((char) unit) && cursor + 6 <= lineLength && line[cursor] == '\\'
+                && line[cursor + 1] == 'u') {
+            cursor += 2;
+            int low = parseHex4();
+            codePoint = Character.toCodePoint((char) unit, (char) low);
+        }
+        byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+        for (byte b : encoded) {
+            length = appendScratch(length, b);
+        }
+        return length;
+    }
+
+    private int appendScratch(int length, byte b) {
+        if (length == scratch.length) {
+            scratch = Arrays.copyOf(scratch, length * 2);
+        }
+        scratch[length] = b;
+        return length + 1;
+    }
+
+    private boolean keyIs(int start, int end, byte[] key) {
+        return Arrays.equals(line, start, end, key, 0, key.length);
+    }
+
+    private void skipSpaces() {
+        while (cursor < lineLength && (line[cursor] == ' ' || line[cursor] == '\t')) {
+            cursor++;
+        }
+    }
+
+    private byte peekByte() {
+        if (cursor >= lineLength) {
+            throw malformed("unexpected end of line");
+        }
+        return line[cursor];
+    }
+
+    private byte nextByte() {
+        byte b = peekByte();
+        cursor++;
+        return b;
+    }
+
+    private void expect(char c) {
+        if (nextByte() != c) {
+            throw malformed("expected '" + c + "'");
+        }
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            if (line[i] != ' ' && line[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Line " + lineNumber + ": " + reason + " at column " + (cursor + 1));
+    }
+
+    // ---------- line reading ----------
+
+    // copies the next line (without \r\n) into the line buffer, CSV quotes may span line breaks
+    private boolean readLine() {
+        lineLength = 0;
+        boolean inQuotes = false;
+        boolean any = false;
+        while (true) {
+            if (bufferPosition == bufferLimit && !fill()) {
+                return any;
+            }
+            any = true;
+            byte b = buffer[bufferPosition++];
+            if (b == '\n' && !inQuotes) {
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                return true;
+            }
+            if (b == '"' && format == Format.CSV) {
+                inQuotes = !inQuotes;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, lineLength * 2);
+            }
+            line[lineLength++] = b;
+        }
+    }
+
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        try {
+            int n;
+            do {
+                n = in.read(buffer, 0, buffer.length);
+            } while (n == 0);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            bufferPosition = 0;
+            bufferLimit = n;
+            bytes += n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double elapsedSeconds() {
+        return Math.max(System.nanoTime() - startNanos, 1) / 1e9;
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
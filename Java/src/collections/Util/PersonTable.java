@@ -0,0 +1,351 @@
+package collections.Util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * PersonTable
+ *
+ * Column oriented store for Person records. Every field lives in its own array
+ * (age and door_no as int[], street/city/state/country as dictionary codes), so a
+ * scan like "all persons in Bangalore" walks one int[] instead of chasing
+ * Person -> Address -> String for every record.
+ *
+ * Rows are addressed by their insertion index. Scans return the matching row
+ * indexes as an int[], which can then be projected to a single column or turned
+ * back into Person objects.
+ */
+public class PersonTable {
+
+    public enum Column {
+        STREET, CITY, STATE, COUNTRY
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final StringDictionary streets = new StringDictionary();
+
+    private final StringDictionary cities = new StringDictionary();
+
+    private final StringDictionary states = new StringDictionary();
+
+    private final StringDictionary countries = new StringDictionary();
+
+    private String[] names;
+
+    private String[] phoneNos;
+
+    private int[] ages;
+
+    // rows whose Person had no Address at all
+    private boolean[] noAddress;
+
+    private int[] doorNos;
+
+    private int[] streetCodes;
+
+    private int[] cityCodes;
+
+    private int[] stateCodes;
+
+    private int[] countryCodes;
+
+    private int size;
+
+    public PersonTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersonTable(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        names = new String[capacity];
+        phoneNos = new String[capacity];
+        ages = new int[capacity];
+        noAddress = new boolean[capacity];
+        doorNos = new int[capacity];
+        streetCodes = new int[capacity];
+        cityCodes = new int[capacity];
+        stateCodes = new int[capacity];
+        countryCodes = new int[capacity];
+    }
+
+    public static PersonTable of(Collection<Person> persons) {
+        PersonTable table = new PersonTable(persons.size());
+        table.addAll(persons);
+        return table;
+    }
+
+    // appends the person as a new row and returns its row index
+    public int add(Person p) {
+        ensureCapacity(size + 1);
+        int row = size;
+        names[row] = p.getName();
+        phoneNos[row] = p.getPhone_no();
+        ages[row] = p.getAge();
+        Address a = p.getAddress();
+        if (a == null) {
+            noAddress[row] = true;
+            streetCodes[row] = StringDictionary.NULL_CODE;
+            cityCodes[row] = StringDictionary.NULL_CODE;
+            stateCodes[row] = StringDictionary.NULL_CODE;
+            countryCodes[row] = StringDictionary.NULL_CODE;
+        } else {
+            doorNos[row] = a.getDoor_no();
+            streetCodes[row] = streets.encode(a.getStreet());
+            cityCodes[row] = cities.encode(a.getCity());
+            stateCodes[row] = states.encode(a.getState());
+            countryCodes[row] = countries.encode(a.getCountry());
+        }
+        size++;
+        return row;
+    }
+
+    public void addAll(Collection<Person> persons) {
+        ensureCapacity(size + persons.size());
+        for (Person p : persons) {
+            add(p);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ---------- scans ----------
+
+    // rows whose column equals value, compared by dictionary code only
+    public int[] select(Column column, String value) {
+        int code = dictionary(column).lookup(value);
+        if (value != null && code == StringDictionary.NULL_CODE) {
+            return new int[0];
+        }
+        return scanCodes(codes(column), code);
+    }
+
+    public int[] selectAgeBetween(int minInclusive, int maxInclusive) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int age = ages[row];
+            if (age >= minInclusive && age <= maxInclusive) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // general row filter for predicates the fixed scans do not cover
+    public int[] filter(IntPredicate rowPredicate) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (rowPredicate.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // keeps only the rows of the given selection whose column equals value
+    public int[] refine(int[] rows, Column column, String value) {
+        int code = dictionary(column).lookup(value);
+        if (value != null && code == StringDictionary.NULL_CODE) {
+            return new int[0];
+        }
+        int[] codes = codes(column);
+        int[] result = new int[rows.length];
+        int count = 0;
+        for (int row : rows) {
+            if (codes[row] == code) {
+                result[count++] = row;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public int count(Column column, String value) {
+        int code = dictionary(column).lookup(value);
+        if (value != null && code == StringDictionary.NULL_CODE) {
+            return 0;
+        }
+        int[] codes = codes(column);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (codes[row] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ---------- projections ----------
+
+    public IntStream ages(int[] rows) {
+        return Arrays.stream(rows).map(row -> ages[row]);
+    }
+
+    public IntStream ages() {
+        return Arrays.stream(ages, 0, size);
+    }
+
+    public List<String> project(int[] rows, Column column) {
+        int[] codes = codes(column);
+        StringDictionary dictionary = dictionary(column);
+        String[] values = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            values[i] = dictionary.decode(codes[rows[i]]);
+        }
+        return Arrays.asList(values);
+    }
+
+    // ---------- row accessors ----------
+
+    public String getName(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    public String getPhone_no(int row) {
+        checkRow(row);
+        return phoneNos[row];
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public String get(int row, Column column) {
+        checkRow(row);
+        return dictionary(column).decode(codes(column)[row]);
+    }
+
+    // builds a fresh Address for the row, or null if the person had none
+    public Address getAddress(int row) {
+        checkRow(row);
+        if (noAddress[row]) {
+            return null;
+        }
+        return new Address(doorNos[row], streets.decode(streetCodes[row]), cities.decode(cityCodes[row]),
+                states.decode(stateCodes[row]), countries.decode(countryCodes[row]));
+    }
+
+    public Person getPerson(int row) {
+        checkRow(row);
+        return new Person(names[row], ages[row], getAddress(row), phoneNos[row]);
+    }
+
+    public List<Person> getPersons(int[] rows) {
+        return new AbstractList<Person>() {
+            @Override
+            public Person get(int index) {
+                return getPerson(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    // read only List<Person> view, each get() materializes the row
+    public List<Person> asList() {
+        return new AbstractList<Person>() {
+            @Override
+            public Person get(int index) {
+                return getPerson(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public int distinctValues(Column column) {
+        return dictionary(column).size();
+    }
+
+    // ---------- internals ----------
+
+    private int[] scanCodes(int[] codes, int code) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (codes[row] == code) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        int next = 0;
+        for (int row = 0; next < count; row++) {
+            if (codes[row] == code) {
+                rows[next++] = row;
+            }
+        }
+        return rows;
+    }
+
+    private StringDictionary dictionary(Column column) {
+        switch (column) {
+            case STREET:
+                return streets;
+            case CITY:
+                return cities;
+            case STATE:
+                return states;
+            case COUNTRY:
+                return countries;
+            default:
+                throw new IllegalArgumentException("Unknown column " + column);
+        }
+    }
+
+    private int[] codes(Column column) {
+        switch (column) {
+            case STREET:
+                return streetCodes;
+            case CITY:
+                return cityCodes;
+            case STATE:
+                return stateCodes;
+            case COUNTRY:
+                return countryCodes;
+            default:
+                throw new IllegalArgumentException("Unknown column " + column);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= ages.length) {
+            return;
+        }
+        int capacity = Math.max(minCapacity, ages.length + (ages.length >> 1));
+        names = Arrays.copyOf(names, capacity);
+        phoneNos = Arrays.copyOf(phoneNos, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        noAddress = Arrays.copyOf(noAddress, capacity);
+        doorNos = Arrays.copyOf(doorNos, capacity);
+        streetCodes = Arrays.copyOf(streetCodes, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        stateCodes = Arrays.copyOf(stateCodes, capacity);
+        countryCodes = Arrays.copyOf(countryCodes, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return "PersonTable [size=" + size + ", cities=" + cities.size() + ", states=" + states.size()
+                + ", countries=" + countries.size() + "]";
+    }
+}
@@ -0,0 +1,68 @@
+package collections.Util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StringDictionary
+ *
+ * Maps each distinct string to a dense int code (0, 1, 2, ...) so that a column
+ * of repeated values can be stored as an int[] instead of String references.
+ * A null value is always encoded as -1.
+ */
+public class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private String[] values = new String[16];
+
+    private int size;
+
+    // returns the code of value, adding it to the dictionary if it is new
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    // returns the code of value, or NULL_CODE if it was never encoded
+    public int lookup(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    public String decode(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Unknown code " + code + ", dictionary size " + size);
+        }
+        return values[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "StringDictionary [size=" + size + ", values=" + Arrays.toString(Arrays.copyOf(values, size)) + "]";
+    }
+}
@@ -0,0 +1,91 @@
+package collections.Util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WeakInterner
+ *
+ * Thread safe canonicalizing table: intern(x) returns the one shared instance
+ * equal to x, registering x as that instance if there is none yet.
+ * Instances are only weakly held, once no caller uses a canonical instance it is
+ * garbage collected and its entry is dropped on a later intern() call.
+ */
+public class WeakInterner<T> {
+
+    private final ConcurrentHashMap<Ref<T>, Ref<T>> table = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<T> cleared = new ReferenceQueue<>();
+
+    public T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        expungeCleared();
+        Ref<T> probe = new Ref<>(value, null);
+        while (true) {
+            Ref<T> existing = table.get(probe);
+            if (existing != null) {
+                T canonical = existing.get();
+                if (canonical != null) {
+                    return canonical;
+                }
+                // collected between lookup and get(), drop it and retry
+                table.remove(existing, existing);
+                continue;
+            }
+            Ref<T> ref = new Ref<>(value, cleared);
+            if (table.putIfAbsent(ref, ref) == null) {
+                return value;
+            }
+        }
+    }
+
+    // true if value is itself the canonical instance
+    public boolean isCanonical(T value) {
+        Ref<T> existing = table.get(new Ref<>(value, null));
+        return existing != null && existing.get() == value;
+    }
+
+    // live entries, may include entries whose referent was collected but not yet expunged
+    public int size() {
+        expungeCleared();
+        return table.size();
+    }
+
+    private void expungeCleared() {
+        Object ref;
+        while ((ref = cleared.poll()) != null) {
+            table.remove(ref);
+        }
+    }
+
+    private static final class Ref<T> extends WeakReference<T> {
+
+        private final int hash;
+
+        Ref(T referent, ReferenceQueue<T> queue) {
+            super(referent, queue);
+            this.hash = referent.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        // a cleared reference is only equal to itself, so it can still be removed
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Ref)) {
+                return false;
+            }
+            Object mine = get();
+            return mine != null && mine.equals(((Ref<?>) obj).get());
+        }
+    }
+}
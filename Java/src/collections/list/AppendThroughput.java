@@ -0,0 +1,113 @@
+package collections.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * AppendThroughput
+ *
+ * Appends from 1 to N writer threads at once into Vector,
+ * Collections.synchronizedList(new ArrayList) and ConcurrentAppendList and prints
+ * millions of appends per second for each.
+ *
+ * usage: AppendThroughput [maxThreads] [appendsPerThread]
+ */
+public class AppendThroughput {
+
+    interface Appender {
+        void add(Integer value);
+
+        int size();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Integer[] values = new Integer[perThread];
+        for (int i = 0; i < perThread; i++) {
+            values[i] = i;
+        }
+
+        System.out.printf("%-8s %14s %14s %14s   (M appends/s, %d per thread)%n", "threads", "Vector",
+                "synchronized", "ConcurrentAppend", perThread);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double vector = best(threads, values, () -> {
+                Vector<Integer> v = new Vector<>();
+                return appender(v);
+            });
+            double synced = best(threads, values, () -> {
+                List<Integer> l = Collections.synchronizedList(new ArrayList<>());
+                return appender(l);
+            });
+            double lockFree = best(threads, values, () -> {
+                ConcurrentAppendList<Integer> c = new ConcurrentAppendList<>();
+                return new Appender() {
+                    public void add(Integer value) {
+                        c.add(value);
+                    }
+
+                    public int size() {
+                        return c.size();
+                    }
+                };
+            });
+            System.out.printf("%-8d %14.1f %14.1f %14.1f%n", threads, vector, synced, lockFree);
+        }
+    }
+
+    private static Appender appender(List<Integer> list) {
+        return new Appender() {
+            public void add(Integer value) {
+                list.add(value);
+            }
+
+            public int size() {
+                return list.size();
+            }
+        };
+    }
+
+    // best of a few rounds, the first ones double as JIT warm up
+    private static double best(int threads, Integer[] values, Supplier<Appender> factory) throws InterruptedException {
+        double best = 0;
+        for (int round = 0; round < 5; round++) {
+            best = Math.max(best, run(threads, values, factory.get()));
+        }
+        return best;
+    }
+
+    private static double run(int threads, Integer[] values, Appender target) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (Integer value : values) {
+                    target.add(value);
+                }
+            });
+            writers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        long total = (long) threads * values.length;
+        if (target.size() != total) {
+            throw new IllegalStateException("Lost appends: " + target.size() + " of " + total);
+        }
+        return total / (elapsed / 1e9) / 1e6;
+    }
+}
@@ -83,5 +83,10 @@ public class ArrayList1 {
         
     //16. toArray(T[] a): Returns an array containing all the elements in the list, and the type of the returned array is the same as the type of the specified array.
         // Integer[] arr1=list.toArray();
+
+    //17. IntArrayList keeps primitive ints, no boxing on add and no cast loop for toArray().
+        IntArrayList ints=IntArrayList.from(list.stream().mapToInt(Integer::intValue));
+        int[] arr4=ints.toArray();
+        System.out.println(arr4.length+" "+ints+" sum "+ints.stream().sum());
 }
 }
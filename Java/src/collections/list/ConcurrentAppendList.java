@@ -0,0 +1,181 @@
+package collections.list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * ConcurrentAppendList
+ *
+ * Append only list that many threads can add to without taking a lock, the
+ * lock free alternative to the Vector in Vectors.
+ *
+ * Storage is a series of chunks of doubling size (16, 32, 64, ...), so growing
+ * never copies existing elements. A writer claims a slot with a CAS on the
+ * reserved counter, installs the chunk with a CAS if it is missing and stores
+ * its element. The published counter then moves over every slot that has been
+ * written with no gap before it; any finishing writer helps to move it.
+ *
+ * Readers only look below published, so size(), get() and snapshot() never see
+ * a claimed but unwritten slot and need no lock. A snapshot is an immutable
+ * prefix of the list, later appends do not change it.
+ *
+ * null elements are not allowed.
+ */
+public class ConcurrentAppendList<E> implements Iterable<E> {
+
+    private static final int FIRST_CHUNK_SHIFT = 4;
+
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+
+    // chunk k holds FIRST_CHUNK_SIZE << k elements, enough chunks to cover every int index
+    private static final int MAX_CHUNKS = 32 - FIRST_CHUNK_SHIFT;
+
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final AtomicReferenceArray<Object[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+    public ConcurrentAppendList() {
+        chunks.set(0, new Object[FIRST_CHUNK_SIZE]);
+    }
+
+    public boolean add(E element) {
+        append(element);
+        return true;
+    }
+
+    // appends element and returns its index
+    public int append(E element) {
+        if (element == null) {
+            throw new NullPointerException("ConcurrentAppendList does not allow null elements");
+        }
+        int index;
+        do {
+            index = reserved.get();
+            if (index >= MAX_SIZE) {
+                throw new IllegalStateException("ConcurrentAppendList is full");
+            }
+        } while (!reserved.compareAndSet(index, index + 1));
+
+        int chunk = chunkOf(index);
+        Object[] array = chunks.get(chunk);
+        if (array == null) {
+            Object[] fresh = new Object[FIRST_CHUNK_SIZE << chunk];
+            array = chunks.compareAndSet(chunk, null, fresh) ? fresh : chunks.get(chunk);
+        }
+        // volatile, not release: a writer must see the slot another writer just filled before giving up in publish()
+        ELEMENT.setVolatile(array, offsetOf(index, chunk), element);
+        publish();
+        return index;
+    }
+
+    // number of elements visible to readers
+    public int size() {
+        return published.get();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public E get(int index) {
+        int size = published.get();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt(index);
+    }
+
+    // immutable view of the elements published so far
+    public List<E> snapshot() {
+        return new Snapshot(published.get());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int size = published.get();
+        for (int i = 0; i < size; i++) {
+            action.accept(elementAt(i));
+        }
+    }
+
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    // ---------- internals ----------
+
+    // moves published forward over every written slot, whichever writer gets there first
+    private void publish() {
+        while (true) {
+            int p = published.get();
+            if (p >= reserved.get() || slotAt(p) == null) {
+                return;
+            }
+            published.compareAndSet(p, p + 1);
+        }
+    }
+
+    private Object slotAt(int index) {
+        int chunk = chunkOf(index);
+        Object[] array = chunks.get(chunk);
+        return array == null ? null : ELEMENT.getVolatile(array, offsetOf(index, chunk));
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) slotAt(index);
+    }
+
+    private static int chunkOf(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index + FIRST_CHUNK_SIZE) - FIRST_CHUNK_SHIFT;
+    }
+
+    private static int offsetOf(int index, int chunk) {
+        return index + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunk);
+    }
+
+    private final class Snapshot extends AbstractList<E> implements RandomAccess {
+
+        private final int size;
+
+        Snapshot(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return elementAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -42,6 +42,24 @@ public class Vectors {
 
         System.out.println(v.size());
         System.out.println(al.size());
+
+        // lock free alternative: writers claim slots with CAS instead of taking the Vector monitor
+        ConcurrentAppendList<Integer> cl=new ConcurrentAppendList<>();
+        Thread t3=new Thread(()->{
+            for (int i = 0; i < 100000; i++) {
+                cl.add(i);
+            }
+        });
+        Thread t4=new Thread(()->{
+            for (int i = 0; i < 100000; i++) {
+                cl.add(i);
+            }
+        });
+        t3.start();
+        t4.start();
+        t3.join();
+        t4.join();
+        System.out.println(cl.size());
         
         
 
@@ -12,9 +12,13 @@ public class HashmapExample {
 
     static List<Integer> ll = List.of(1, 2, 3, 4, 5, 6, 7);
 
+    // same persons keyed by primitive int, no Integer key and no entry node per person
+    static IntObjectHashMap<Person> ih = CollectionsUtitlity.getPersonsIntMap();
+
     public static void main(String[] args) {
 
-        
+        System.out.println(ih.get(1));
+        ih.forEach((id, p) -> System.out.println(id + " " + p.getName()));
 
     }
 
@@ -0,0 +1,13 @@
+package collections.map;
+
+/**
+ * IntLongConsumer
+ *
+ * BiConsumer for a primitive int key and a primitive long value, so iterating
+ * an IntLongHashMap boxes neither.
+ */
+@FunctionalInterface
+public interface IntLongConsumer {
+
+    void accept(int key, long value);
+}
@@ -0,0 +1,303 @@
+package collections.map;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * IntLongHashMap
+ *
+ * Hash map from primitive int keys to primitive long values, the counting and
+ * summing companion of IntObjectHashMap. Keys and values sit in an int[] and a
+ * long[], so there is no boxed Integer, no boxed Long and no entry node per
+ * mapping like in HashMap&lt;Integer, Long&gt;.
+ *
+ * Open addressing with linear probing and backward shift deletion, as in
+ * IntObjectHashMap. Key 0 marks a free slot, so the mapping for key 0 is kept
+ * in two fields next to the table.
+ *
+ * get() returns 0 for a missing key, use containsKey() to tell them apart.
+ * Not thread safe.
+ */
+public class IntLongHashMap {
+
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+
+    // keys[i] == 0 marks slot i as free
+    private int[] keys;
+
+    private long[] values;
+
+    private boolean hasZeroKey;
+
+    private long zeroValue;
+
+    private int mask;
+
+    // 32 - log2(capacity), slot() keeps the top bits of the hash
+    private int shift;
+
+    // mappings in the table, the zero key is not counted
+    private int assigned;
+
+    private int resizeAt;
+
+    public IntLongHashMap() {
+        this(16, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntLongHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntLongHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize));
+    }
+
+    public static IntLongHashMap from(Map<Integer, Long> map) {
+        IntLongHashMap result = new IntLongHashMap(map.size());
+        for (Map.Entry<Integer, Long> e : map.entrySet()) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    public long get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public long getOrDefault(int key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    // returns the previous value, or 0 if there was none
+    public long put(int key, long value) {
+        if (key == 0) {
+            long old = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return old;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+        return 0;
+    }
+
+    // adds delta to the value of key (0 if missing) and returns the new value
+    public long addTo(int key, long delta) {
+        if (key == 0) {
+            hasZeroKey = true;
+            return zeroValue += delta;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    public long increment(int key) {
+        return addTo(key, 1);
+    }
+
+    // adds every value of other to this map, other is not changed
+    public IntLongHashMap addAll(IntLongHashMap other) {
+        other.forEach(this::addTo);
+        return this;
+    }
+
+    // returns the removed value, or 0 if the key was not present
+    public long remove(int key) {
+        if (key == 0) {
+            long old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return old;
+        }
+        int slot = find(key);
+        if (slot < 0) {
+            return 0;
+        }
+        long old = values[slot];
+        shiftBack(slot);
+        assigned--;
+        return old;
+    }
+
+    public void forEach(IntLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        int[] k = keys;
+        long[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) {
+                action.accept(k[i], v[i]);
+            }
+        }
+    }
+
+    public int[] keys() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    public long sum() {
+        long sum = hasZeroKey ? zeroValue : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public int size() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public float loadFactor() {
+        return loadFactor;
+    }
+
+    // ---------- internals ----------
+
+    private int find(int key) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(int slot, int key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++assigned > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    // Fibonacci hashing spreads sequential ids over the whole table
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    // moves later entries of the probe chain back into the freed slot
+    private void shiftBack(int free) {
+        int current = free;
+        while (true) {
+            current = (current + 1) & mask;
+            if (keys[current] == 0) {
+                break;
+            }
+            int ideal = slot(keys[current]);
+            if (((current - ideal) & mask) >= ((current - free) & mask)) {
+                keys[free] = keys[current];
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        keys[free] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY || newCapacity < 0) {
+            throw new IllegalStateException("IntLongHashMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        resizeAt = Math.min(capacity - 1, (int) (capacity * (double) loadFactor));
+    }
+
+    private int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Math.max(Integer.highestOneBit((int) needed - 1) << 1, 4);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
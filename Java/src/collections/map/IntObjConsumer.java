@@ -0,0 +1,13 @@
+package collections.map;
+
+/**
+ * IntObjConsumer
+ *
+ * BiConsumer for a primitive int key and an object value, so iterating an
+ * IntObjectHashMap does not box the keys.
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+
+    void accept(int key, V value);
+}
@@ -0,0 +1,264 @@
+package collections.map;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * IntObjectHashMap
+ *
+ * Hash map from primitive int keys to object values using open addressing with
+ * linear probing. Keys sit in an int[] and values in an Object[], so there is no
+ * boxed Integer key and no entry node per mapping like in HashMap&lt;Integer, V&gt;.
+ *
+ * remove() uses backward shift deletion instead of tombstones: the entries after
+ * the removed slot are moved back into place, so probe chains never fill up with
+ * deleted markers and lookups stay fast under heavy put/remove churn.
+ *
+ * null values are not allowed, get() returns null for a missing key.
+ * Not thread safe.
+ */
+public class IntObjectHashMap<V> {
+
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+
+    private int[] keys;
+
+    // values[i] == null marks slot i as free
+    private Object[] values;
+
+    private int mask;
+
+    // 32 - log2(capacity), slot() keeps the top bits of the hash
+    private int shift;
+
+    private int size;
+
+    private int resizeAt;
+
+    public IntObjectHashMap() {
+        this(16, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize));
+    }
+
+    public static <V> IntObjectHashMap<V> from(Map<Integer, ? extends V> map) {
+        IntObjectHashMap<V> result = new IntObjectHashMap<>(map.size());
+        for (Map.Entry<Integer, ? extends V> e : map.entrySet()) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    // returns the previous value, or null if there was none
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("IntObjectHashMap does not allow null values");
+        }
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    public V computeIfAbsent(int key, IntFunction<? extends V> mapping) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        V value = mapping.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    // returns the removed value, or null if the key was not present
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V old = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+        int[] k = keys;
+        Object[] v = values;
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != null) {
+                action.accept(k[i], (V) v[i]);
+            }
+        }
+    }
+
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public float loadFactor() {
+        return loadFactor;
+    }
+
+    // ---------- internals ----------
+
+    private int find(int key) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Fibonacci hashing spreads sequential ids over the whole table
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    // moves later entries of the probe chain back into the freed slot
+    private void shiftBack(int free) {
+        int current = free;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == null) {
+                break;
+            }
+            int ideal = slot(keys[current]);
+            // distance from ideal slot to current vs. ideal slot to the free slot, wrapping around
+            if (((current - ideal) & mask) >= ((current - free) & mask)) {
+                keys[free] = keys[current];
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        values[free] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY || newCapacity < 0) {
+            throw new IllegalStateException("IntObjectHashMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        resizeAt = Math.min(capacity - 1, (int) (capacity * (double) loadFactor));
+    }
+
+    private int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Math.max(Integer.highestOneBit((int) needed - 1) << 1, 4);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,283 @@
+package java8.StreamAPI;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * AdaptiveStream
+ *
+ * Wraps a stream source and picks sequential or parallel execution for each
+ * pipeline instead of calling .parallel() everywhere and hoping.
+ *
+ * The decision uses:
+ *  - the source size, only an exact size (SIZED) is trusted, unknown sizes stay sequential
+ *  - how the source splits: arrays, ArrayList, ArrayDeque and the like split in O(1)
+ *    into exact halves. LinkedList and collections on the default iterator spliterator
+ *    report SUBSIZED too, but they walk and copy batches of elements to split, about
+ *    one sequential pass before the workers start. Sources that are SIZED but not
+ *    SUBSIZED (HashSet, TreeSet) split cheaply into uneven parts, counted as half the
+ *    parallelism
+ *  - a CostModel calibrated once by a short microbenchmark when the class loads:
+ *    the time of one trivial element in a sequential pipeline and the fixed cost
+ *    of forking and joining one parallel pipeline
+ *  - weight: how much heavier the per element work is than the calibration lambda
+ *
+ * Parallel is chosen when overhead + split cost + work / parallelism is clearly
+ * less than the work itself. apply(..) runs the pipeline inside a dedicated
+ * ForkJoinPool when one is given, so parallel work does not compete with
+ * everything else in the common pool.
+ *
+ *   long n = AdaptiveStream.of(persons).weight(20).apply(s -> s.filter(..).count());
+ *
+ * Over a Collection every stream() or apply(..) starts from a fresh spliterator.
+ * A Spliterator source can be traversed once, a second pipeline over it throws.
+ */
+public final class AdaptiveStream<T> {
+
+	// parallel must win by this factor, close calls stay sequential
+	static final double MARGIN = 1.5;
+
+	// what Spliterators.spliterator(Collection, int) and the Collection.spliterator() default return
+	private static final Class<?> ITERATOR_SPLITERATOR = Spliterators.spliterator(Collections.emptyList(), 0)
+			.getClass();
+
+	// null when built over a single spliterator
+	private final Collection<T> collection;
+
+	// the single spliterator, null once a pipeline took it
+	private Spliterator<T> spliterator;
+
+	// splitting copies elements out of an iterator instead of halving an index range
+	private final boolean walksToSplit;
+
+	private double weight = 1;
+
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	private AdaptiveStream(Collection<T> collection, Spliterator<T> spliterator, boolean walksToSplit) {
+		this.collection = collection;
+		this.spliterator = spliterator;
+		this.walksToSplit = walksToSplit;
+	}
+
+	public static <T> AdaptiveStream<T> of(Collection<T> source) {
+		Spliterator<T> spliterator = source.spliterator();
+		boolean walks = spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+				&& (source instanceof LinkedList || spliterator.getClass() == ITERATOR_SPLITERATOR);
+		return new AdaptiveStream<>(source, null, walks);
+	}
+
+	// SUBSIZED is taken at its word, wrap iterator based sources with walksToSplit = true
+	public static <T> AdaptiveStream<T> of(Spliterator<T> source) {
+		return of(source, false);
+	}
+
+	public static <T> AdaptiveStream<T> of(Spliterator<T> source, boolean walksToSplit) {
+		if (source == null) {
+			throw new NullPointerException("source");
+		}
+		return new AdaptiveStream<>(null, source, walksToSplit);
+	}
+
+	// per element cost relative to the calibration lambda, 1 is a cheap map/filter
+	public AdaptiveStream<T> weight(double weight) {
+		if (!(weight > 0)) {
+			throw new IllegalArgumentException("Weight must be positive: " + weight);
+		}
+		this.weight = weight;
+		return this;
+	}
+
+	// pool that runs the pipeline when it goes parallel, the common pool by default
+	public AdaptiveStream<T> pool(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new NullPointerException("pool");
+		}
+		this.pool = pool;
+		return this;
+	}
+
+	public Decision decision() {
+		return decide(peek(), walksToSplit, weight, pool.getParallelism(), CostModel.get());
+	}
+
+	// the stream with the chosen mode, terminal operations run in the caller's pool
+	public Stream<T> stream() {
+		Spliterator<T> source = take();
+		return StreamSupport.stream(source, decide(source).parallel);
+	}
+
+	// builds and runs a pipeline, in the configured pool when parallel
+	public <R> R apply(Function<? super Stream<T>, ? extends R> pipeline) {
+		Spliterator<T> source = take();
+		Decision decision = decide(source);
+		Stream<T> stream = StreamSupport.stream(source, decision.parallel);
+		if (!decision.parallel || pool == ForkJoinPool.commonPool()) {
+			return pipeline.apply(stream);
+		}
+		// a parallel terminal operation started inside a pool forks its tasks into that pool
+		return pool.submit(() -> pipeline.apply(stream)).join();
+	}
+
+	// a spliterator to look at, not to traverse
+	private Spliterator<T> peek() {
+		if (collection != null) {
+			return collection.spliterator();
+		}
+		if (spliterator == null) {
+			throw new IllegalStateException("The spliterator was already consumed by a pipeline");
+		}
+		return spliterator;
+	}
+
+	// the spliterator a pipeline traverses, a fresh one per pipeline over a collection
+	private Spliterator<T> take() {
+		Spliterator<T> source = peek();
+		spliterator = null;
+		return source;
+	}
+
+	private Decision decide(Spliterator<T> source) {
+		return decide(source, walksToSplit, weight, pool.getParallelism(), CostModel.get());
+	}
+
+	// ---------- decision ----------
+
+	/**
+	 * Outcome of the cost model for one pipeline, with the estimates behind it.
+	 */
+	public static final class Decision {
+		public final boolean parallel;
+		public final String reason;
+		public final double sequentialNanos;
+		public final double parallelNanos;
+
+		Decision(boolean parallel, String reason, double sequentialNanos, double parallelNanos) {
+			this.parallel = parallel;
+			this.reason = reason;
+			this.sequentialNanos = sequentialNanos;
+			this.parallelNanos = parallelNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s (%s, sequential ~%.0f us, parallel ~%.0f us)", parallel ? "parallel" : "sequential",
+					reason, sequentialNanos / 1000, parallelNanos / 1000);
+		}
+	}
+
+	static Decision decide(Spliterator<?> source, boolean walksToSplit, double weight, int parallelism,
+			CostModel model) {
+		long size = source.getExactSizeIfKnown();
+		if (size < 0) {
+			return new Decision(false, "size unknown", Double.NaN, Double.NaN);
+		}
+		double sequential = size * model.elementNanos * weight;
+		if (parallelism < 2) {
+			return new Decision(false, "pool parallelism " + parallelism, sequential, Double.NaN);
+		}
+		boolean even = source.hasCharacteristics(Spliterator.SUBSIZED);
+		double split = walksToSplit ? size * model.elementNanos : 0;
+		double workers = even ? parallelism : parallelism / 2.0;
+		double parallel = model.forkJoinNanos + split + sequential / workers;
+		String kind = walksToSplit ? "splits by walking" : even ? "SUBSIZED" : "uneven splits";
+		if (parallel * MARGIN < sequential) {
+			return new Decision(true, "large enough, " + kind, sequential, parallel);
+		}
+		return new Decision(false, "not worth it, " + kind, sequential, parallel);
+	}
+
+	// ---------- cost model ----------
+
+	/**
+	 * Per element and fixed parallel costs measured on this machine.
+	 */
+	public static final class CostModel {
+
+		private static final int CALIBRATION_SIZE = 1 << 14;
+
+		private static final int ROUNDS = 30;
+
+		// keeps the calibration results alive so the JIT cannot drop the loops
+		static volatile long blackhole;
+
+		// ns for one element through a cheap sequential map/filter pipeline
+		public final double elementNanos;
+
+		// ns to fork, run and join a parallel pipeline over a handful of elements
+		public final double forkJoinNanos;
+
+		public CostModel(double elementNanos, double forkJoinNanos) {
+			this.elementNanos = elementNanos;
+			this.forkJoinNanos = forkJoinNanos;
+		}
+
+		public static CostModel get() {
+			return Holder.MODEL;
+		}
+
+		// best of ROUNDS runs, the first runs warm up the JIT
+		public static CostModel calibrate() {
+			List<Integer> data = new ArrayList<>(CALIBRATION_SIZE);
+			for (int i = 0; i < CALIBRATION_SIZE; i++) {
+				data.add(i);
+			}
+			long sink = 0;
+			long bestSequential = Long.MAX_VALUE;
+			long bestForkJoin = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long t0 = System.nanoTime();
+				sink += data.stream().mapToLong(x -> x * 31L).filter(x -> (x & 1) == 0).sum();
+				long t1 = System.nanoTime();
+				sink += IntStream.range(0, ForkJoinPool.getCommonPoolParallelism() * 4).parallel().map(x -> x * 31)
+						.sum();
+				long t2 = System.nanoTime();
+				bestSequential = Math.min(bestSequential, t1 - t0);
+				bestForkJoin = Math.min(bestForkJoin, t2 - t1);
+			}
+			blackhole = sink;
+			return new CostModel((double) bestSequential / CALIBRATION_SIZE, bestForkJoin);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("CostModel[element %.2f ns, fork/join %.1f us]", elementNanos, forkJoinNanos / 1000);
+		}
+
+		private static final class Holder {
+			static final CostModel MODEL = calibrate();
+		}
+	}
+
+	public static void main(String[] args) {
+		System.out.println(CostModel.get());
+
+		List<Integer> array = IntStream.range(0, 2_000_000).boxed().collect(Collectors.toList());
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		for (int size : new int[] { 100, 10_000, 2_000_000 }) {
+			List<Integer> a = array.subList(0, size);
+			List<Integer> linked = new LinkedList<>(a);
+			System.out.println("ArrayList  " + size + ": " + AdaptiveStream.of(a).decision());
+			System.out.println("LinkedList " + size + ", 4 threads: " + AdaptiveStream.of(linked).pool(pool).decision());
+			System.out.println("ArrayList  " + size + ", weight 50, 4 threads: "
+					+ AdaptiveStream.of(a).weight(50).pool(pool).decision());
+		}
+		System.out.println(AdaptiveStream.of(Stream.iterate(1, x -> x + 1).limit(1000).spliterator()).decision());
+
+		long even = AdaptiveStream.of(array).pool(pool).apply(s -> s.filter(x -> x % 2 == 0).count());
+		System.out.println(even);
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,393 @@
+package java8.StreamAPI;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * CharHistogram
+ *
+ * Counts characters or code points into primitive long tables, no Character,
+ * no String and no map node per element.
+ *
+ * The table is split in pages of 256 counters that are created the first time
+ * one of their code points is seen, so ASCII text costs one 2 KB page while the
+ * whole Unicode range is still covered.
+ *
+ * Three ways to fill one:
+ *  - direct scans: ofChars / ofCodePoints over a CharSequence, ofBytes / ofUtf8 over a byte[]
+ *  - parallel scans: parallelOfChars / parallelOfUtf8 split the input, count every
+ *    part into its own table and merge the tables at the end
+ *  - collectors: chars() / codePoints() for a Stream of CharSequence, and
+ *    CharHistogram::new, CharHistogram::add, CharHistogram::merge for IntStream.collect
+ *
+ * Parallel streams call the supplier once per split, so every thread counts
+ * into a table of its own and only the merge touches two tables.
+ */
+public class CharHistogram {
+
+	private static final int PAGE_SHIFT = 8;
+
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	private static final int PAGES = (Character.MAX_CODE_POINT + 1) >>> PAGE_SHIFT;
+
+	// smallest code point that needs a UTF-8 sequence of that length, shorter ones are overlong
+	private static final int[] MIN_VALUE = { 0, 0, 0x80, 0x800, 0x10000 };
+
+	// chars / bytes per fork/join leaf
+	static final int THRESHOLD = 1 << 16;
+
+	private final long[][] pages = new long[PAGES][];
+
+	private long total;
+
+	/**
+	 * Receives one (code point, count) pair, in code point order.
+	 */
+	@FunctionalInterface
+	public interface CountConsumer {
+		void accept(int codePoint, long count);
+	}
+
+	public CharHistogram() {
+	}
+
+	// ---------- counting ----------
+
+	public void add(int codePoint) {
+		page(codePoint)[codePoint & PAGE_MASK]++;
+		total++;
+	}
+
+	public void add(int codePoint, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Negative count: " + count);
+		}
+		page(codePoint)[codePoint & PAGE_MASK] += count;
+		total += count;
+	}
+
+	// every char of text, surrogates counted one by one
+	public CharHistogram addChars(CharSequence text) {
+		return addChars(text, 0, text.length());
+	}
+
+	public CharHistogram addChars(CharSequence text, int from, int to) {
+		// one page lookup per run of chars from the same page
+		long[] page = null;
+		int pageIndex = -1;
+		for (int i = from; i < to; i++) {
+			char c = text.charAt(i);
+			if (c >>> PAGE_SHIFT != pageIndex) {
+				pageIndex = c >>> PAGE_SHIFT;
+				page = page(c);
+			}
+			page[c & PAGE_MASK]++;
+		}
+		total += to - from;
+		return this;
+	}
+
+	// code points, a surrogate pair counts once, a lone surrogate counts as itself
+	public CharHistogram addCodePoints(CharSequence text) {
+		return addCodePoints(text, 0, text.length());
+	}
+
+	public CharHistogram addCodePoints(CharSequence text, int from, int to) {
+		int i = from;
+		while (i < to) {
+			char c = text.charAt(i++);
+			int codePoint = c;
+			if (Character.isHighSurrogate(c) && i < to) {
+				char low = text.charAt(i);
+				if (Character.isLowSurrogate(low)) {
+					codePoint = Character.toCodePoint(c, low);
+					i++;
+				}
+			}
+			add(codePoint);
+		}
+		return this;
+	}
+
+	// every byte as a value 0..255
+	public CharHistogram addBytes(byte[] bytes, int from, int to) {
+		long[] page = page(0);
+		for (int i = from; i < to; i++) {
+			page[bytes[i] & 0xFF]++;
+		}
+		total += to - from;
+		return this;
+	}
+
+	// decodes UTF-8 in place, a malformed sequence counts one U+FFFD per bad byte
+	public CharHistogram addUtf8(byte[] bytes, int from, int to) {
+		int i = from;
+		while (i < to) {
+			int b = bytes[i];
+			if (b >= 0) {
+				add(b);
+				i++;
+				continue;
+			}
+			int length = (b & 0xE0) == 0xC0 ? 2 : (b & 0xF0) == 0xE0 ? 3 : (b & 0xF8) == 0xF0 ? 4 : 0;
+			int codePoint = length == 2 ? b & 0x1F : length == 3 ? b & 0x0F : b & 0x07;
+			int k = 1;
+			while (k < length && i + k < to && (bytes[i + k] & 0xC0) == 0x80) {
+				codePoint = codePoint << 6 | (bytes[i + k] & 0x3F);
+				k++;
+			}
+			if (length == 0 || k < length || codePoint > Character.MAX_CODE_POINT || codePoint < MIN_VALUE[length]
+					|| (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+				add(0xFFFD);
+				i++;
+			} else {
+				add(codePoint);
+				i += length;
+			}
+		}
+		return this;
+	}
+
+	// adds every count of other to this one, other is not changed
+	public CharHistogram merge(CharHistogram other) {
+		for (int p = 0; p < PAGES; p++) {
+			long[] source = other.pages[p];
+			if (source == null) {
+				continue;
+			}
+			long[] target = pages[p];
+			if (target == null) {
+				pages[p] = source.clone();
+				continue;
+			}
+			for (int i = 0; i < PAGE_SIZE; i++) {
+				target[i] += source[i];
+			}
+		}
+		total += other.total;
+		return this;
+	}
+
+	// ---------- reading ----------
+
+	public long count(int codePoint) {
+		if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+			return 0;
+		}
+		long[] page = pages[codePoint >>> PAGE_SHIFT];
+		return page == null ? 0 : page[codePoint & PAGE_MASK];
+	}
+
+	public long total() {
+		return total;
+	}
+
+	// number of code points seen at least once
+	public int distinct() {
+		int distinct = 0;
+		for (long[] page : pages) {
+			if (page != null) {
+				for (long count : page) {
+					if (count != 0) {
+						distinct++;
+					}
+				}
+			}
+		}
+		return distinct;
+	}
+
+	public void forEach(CountConsumer action) {
+		for (int p = 0; p < PAGES; p++) {
+			long[] page = pages[p];
+			if (page == null) {
+				continue;
+			}
+			for (int i = 0; i < PAGE_SIZE; i++) {
+				if (page[i] != 0) {
+					action.accept(p << PAGE_SHIFT | i, page[i]);
+				}
+			}
+		}
+	}
+
+	// code point with the highest count, -1 when empty
+	public int mostFrequent() {
+		int best = -1;
+		long bestCount = 0;
+		for (int p = 0; p < PAGES; p++) {
+			long[] page = pages[p];
+			if (page == null) {
+				continue;
+			}
+			for (int i = 0; i < PAGE_SIZE; i++) {
+				if (page[i] > bestCount) {
+					bestCount = page[i];
+					best = p << PAGE_SHIFT | i;
+				}
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		forEach((codePoint, count) -> {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.appendCodePoint(codePoint).append('=').append(count);
+		});
+		return sb.append('}').toString();
+	}
+
+	private long[] page(int codePoint) {
+		int p = codePoint >>> PAGE_SHIFT;
+		if (p >= PAGES) {
+			throw new IllegalArgumentException("Not a code point: " + codePoint);
+		}
+		long[] page = pages[p];
+		if (page == null) {
+			page = pages[p] = new long[PAGE_SIZE];
+		}
+		return page;
+	}
+
+	// ---------- direct scans ----------
+
+	public static CharHistogram ofChars(CharSequence text) {
+		return new CharHistogram().addChars(text);
+	}
+
+	public static CharHistogram ofCodePoints(CharSequence text) {
+		return new CharHistogram().addCodePoints(text);
+	}
+
+	public static CharHistogram ofBytes(byte[] bytes) {
+		return new CharHistogram().addBytes(bytes, 0, bytes.length);
+	}
+
+	public static CharHistogram ofUtf8(byte[] bytes) {
+		return new CharHistogram().addUtf8(bytes, 0, bytes.length);
+	}
+
+	// ---------- parallel scans ----------
+
+	public static CharHistogram parallelOfChars(CharSequence text) {
+		return parallelOfChars(text, ForkJoinPool.commonPool());
+	}
+
+	public static CharHistogram parallelOfChars(CharSequence text, ForkJoinPool pool) {
+		return pool.invoke(new Scan(text.length(), (h, from, to) -> h.addChars(text, from, to), i -> i));
+	}
+
+	public static CharHistogram parallelOfUtf8(byte[] bytes) {
+		return parallelOfUtf8(bytes, ForkJoinPool.commonPool());
+	}
+
+	// splits move forward past continuation bytes so no sequence is cut in two
+	public static CharHistogram parallelOfUtf8(byte[] bytes, ForkJoinPool pool) {
+		return pool.invoke(new Scan(bytes.length, (h, from, to) -> h.addUtf8(bytes, from, to), i -> {
+			while (i < bytes.length && (bytes[i] & 0xC0) == 0x80) {
+				i++;
+			}
+			return i;
+		}));
+	}
+
+	interface RangeCounter {
+		void count(CharHistogram histogram, int from, int to);
+	}
+
+	interface SplitPoint {
+		int align(int index);
+	}
+
+	// counts [from, to) into a table per leaf and merges the tables on the way up
+	private static final class Scan extends RecursiveTask<CharHistogram> {
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final RangeCounter counter;
+		private final SplitPoint split;
+
+		Scan(int length, RangeCounter counter, SplitPoint split) {
+			this(0, length, counter, split);
+		}
+
+		Scan(int from, int to, RangeCounter counter, SplitPoint split) {
+			this.from = from;
+			this.to = to;
+			this.counter = counter;
+			this.split = split;
+		}
+
+		@Override
+		protected CharHistogram compute() {
+			int mid = to - from > THRESHOLD ? split.align((from + to) >>> 1) : to;
+			if (mid >= to) {
+				CharHistogram histogram = new CharHistogram();
+				counter.count(histogram, from, to);
+				return histogram;
+			}
+			Scan left = new Scan(from, mid, counter, split);
+			left.fork();
+			CharHistogram right = new Scan(mid, to, counter, split).compute();
+			return left.join().merge(right);
+		}
+	}
+
+	// ---------- collectors ----------
+
+	// counts the chars of every CharSequence of a stream, e.g. Files.lines(..)
+	public static Collector<CharSequence, CharHistogram, CharHistogram> chars() {
+		return collector(CharHistogram::addChars);
+	}
+
+	// counts the code points of every CharSequence of a stream
+	public static Collector<CharSequence, CharHistogram, CharHistogram> codePoints() {
+		return collector(CharHistogram::addCodePoints);
+	}
+
+	private static Collector<CharSequence, CharHistogram, CharHistogram> collector(
+			BiConsumer<CharHistogram, CharSequence> accumulator) {
+		return Collector.of(CharHistogram::new, accumulator, CharHistogram::merge,
+				Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+	}
+
+	public static void main(String[] args) {
+		System.out.println(ofChars("harish kumar"));
+		System.out.println(ofCodePoints("na\u00efve caf\u00e9 \uD83D\uDE00\uD83D\uDE00"));
+
+		// IntStream has no Collector, the three argument collect does the same job
+		CharHistogram fromStream = "harish kumar".chars().parallel()
+				.collect(CharHistogram::new, CharHistogram::add, CharHistogram::merge);
+		System.out.println(fromStream);
+
+		CharHistogram lines = Stream.of("the quick brown fox", "jumps over", "the lazy dog").parallel()
+				.collect(chars());
+		System.out.println("o x" + lines.count('o') + ", " + lines.distinct() + " distinct chars");
+
+		StringBuilder big = new StringBuilder();
+		for (int i = 0; i < 2_000_000; i++) {
+			big.append((char) ('a' + i % 26));
+		}
+		for (int round = 0; round < 3; round++) {
+			long t0 = System.nanoTime();
+			CharHistogram sequential = ofChars(big);
+			long t1 = System.nanoTime();
+			CharHistogram parallel = parallelOfChars(big);
+			long t2 = System.nanoTime();
+			System.out.printf("a=%d sequential %d ms, a=%d parallel %d ms%n", sequential.count('a'),
+					(t1 - t0) / 1_000_000, parallel.count('a'), (t2 - t1) / 1_000_000);
+		}
+	}
+}
@@ -4,7 +4,9 @@ import java.util.List;
 
 import collections.Util.Address;
 import collections.Util.CollectionsUtitlity;
+import collections.Util.IndexedPersons;
 import collections.Util.Person;
+import collections.Util.PersonTable;
 
 public class IntermediateOperations {
 	
@@ -20,6 +22,18 @@ public class IntermediateOperations {
 
 		System.out.println(cities);
 
+		// same query over the columnar table, scans the city codes only
+		PersonTable table = CollectionsUtitlity.getPersonsTable();
+		int[] rows = table.select(PersonTable.Column.CITY, "Bangalore");
+		System.out.println(table.getPersons(rows));
+
+		// and through the city index, touches only the matching persons
+		IndexedPersons indexed = CollectionsUtitlity.getIndexedPersons();
+		System.out.println(indexed.byCity("Bangalore"));
+
+		// persons per age, no boxed Integer key or Long count per person
+		System.out.println(persons.stream().collect(PrimitiveCollectors.countingToIntLongMap(Person::getAge)));
+
 		
 	
 
@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class ParallelStream {
+    // two currentTimeMillis() calls cannot time one binarySearch,
+    // see ListBenchmark.binarySearch in Java/benchmarks for real numbers
     public static void main(String[] args) {
         ArrayList<Integer> list = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
@@ -36,6 +38,13 @@ public class ParallelStream {
 
         System.out.println(res1);
         System.out.println(end1-start1);
+
+        // whether .parallel() pays off depends on size, how the source splits and the pool,
+        // AdaptiveStream decides that per pipeline
+        System.out.println(AdaptiveStream.of(list).decision());
+        System.out.println(AdaptiveStream.of(ll).decision());
+        int sum = AdaptiveStream.of(list).apply(s -> s.mapToInt(Integer::intValue).sum());
+        System.out.println(sum);
         
     }
 }
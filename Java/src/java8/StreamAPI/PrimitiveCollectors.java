@@ -0,0 +1,138 @@
+package java8.StreamAPI;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import collections.Util.CollectionsUtitlity;
+import collections.Util.Person;
+import collections.map.IntLongHashMap;
+import collections.map.IntObjectHashMap;
+
+/**
+ * PrimitiveCollectors
+ *
+ * groupingBy / counting / summing collectors for int keys that collect into
+ * IntObjectHashMap and IntLongHashMap instead of HashMap&lt;Integer, Long&gt;:
+ * no boxed key, no boxed count and no map node per element.
+ *
+ *   Collectors.groupingBy(Person::getAge, Collectors.counting())
+ *   PrimitiveCollectors.countingToIntLongMap(Person::getAge)
+ *
+ * In a parallel stream every split fills its own map. The combiner folds the
+ * smaller map into the larger one and returns the larger, so a merge costs
+ * one lookup per key of the smaller map and nothing is copied.
+ */
+public final class PrimitiveCollectors {
+
+	private PrimitiveCollectors() {
+	}
+
+	// ---------- int -> long ----------
+
+	// number of elements per key
+	public static <T> Collector<T, ?, IntLongHashMap> countingToIntLongMap(ToIntFunction<? super T> key) {
+		return toIntLongMap((map, t) -> map.increment(key.applyAsInt(t)));
+	}
+
+	// sum of value per key, summed as long so it does not overflow at 2^31
+	public static <T> Collector<T, ?, IntLongHashMap> summingIntByKey(ToIntFunction<? super T> key,
+			ToIntFunction<? super T> value) {
+		return toIntLongMap((map, t) -> map.addTo(key.applyAsInt(t), value.applyAsInt(t)));
+	}
+
+	public static <T> Collector<T, ?, IntLongHashMap> summingLongByKey(ToIntFunction<? super T> key,
+			ToLongFunction<? super T> value) {
+		return toIntLongMap((map, t) -> map.addTo(key.applyAsInt(t), value.applyAsLong(t)));
+	}
+
+	private static <T> Collector<T, IntLongHashMap, IntLongHashMap> toIntLongMap(
+			BiConsumer<IntLongHashMap, T> accumulator) {
+		return Collector.of(IntLongHashMap::new, accumulator, PrimitiveCollectors::mergeCounts,
+				Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+	}
+
+	// counts are added, so the order of the two maps does not matter
+	private static IntLongHashMap mergeCounts(IntLongHashMap left, IntLongHashMap right) {
+		return left.size() >= right.size() ? left.addAll(right) : right.addAll(left);
+	}
+
+	// ---------- int -> object ----------
+
+	// elements per key, in encounter order
+	public static <T> Collector<T, ?, IntObjectHashMap<List<T>>> groupingByInt(ToIntFunction<? super T> key) {
+		return groupingByInt(key, Collectors.toList());
+	}
+
+	// runs downstream on the elements of every key, like Collectors.groupingBy(key, downstream).
+	// IntObjectHashMap holds no null values, a key whose downstream result is null is left out
+	@SuppressWarnings("unchecked")
+	public static <T, A, D> Collector<T, ?, IntObjectHashMap<D>> groupingByInt(ToIntFunction<? super T> key,
+			Collector<? super T, A, D> downstream) {
+		Supplier<A> supplier = downstream.supplier();
+		BiConsumer<A, ? super T> add = downstream.accumulator();
+		BinaryOperator<A> combiner = downstream.combiner();
+
+		BiConsumer<IntObjectHashMap<A>, T> accumulator = (map, t) -> {
+			int k = key.applyAsInt(t);
+			A container = map.get(k);
+			if (container == null) {
+				container = supplier.get();
+				map.put(k, container);
+			}
+			add.accept(container, t);
+		};
+
+		// the result of the downstream combiner goes back under the key, left before right keeps encounter order
+		BinaryOperator<IntObjectHashMap<A>> merge = (left, right) -> {
+			boolean leftIsLarger = left.size() >= right.size();
+			IntObjectHashMap<A> into = leftIsLarger ? left : right;
+			IntObjectHashMap<A> from = leftIsLarger ? right : left;
+			from.forEach((k, value) -> {
+				A existing = into.get(k);
+				if (existing == null) {
+					into.put(k, value);
+				} else {
+					into.put(k, leftIsLarger ? combiner.apply(existing, value) : combiner.apply(value, existing));
+				}
+			});
+			return into;
+		};
+
+		Set<Collector.Characteristics> characteristics = downstream.characteristics();
+		if (characteristics.contains(Collector.Characteristics.IDENTITY_FINISH)) {
+			return Collector.of(IntObjectHashMap::new, accumulator, merge,
+					(Function<IntObjectHashMap<A>, IntObjectHashMap<D>>) (Function<?, ?>) Function.identity(),
+					Collector.Characteristics.IDENTITY_FINISH);
+		}
+		Function<A, D> finisher = downstream.finisher();
+		return Collector.of(IntObjectHashMap::new, accumulator, merge, map -> {
+			IntObjectHashMap<D> result = new IntObjectHashMap<>(map.size());
+			map.forEach((k, container) -> {
+				D value = finisher.apply(container);
+				if (value != null) {
+					result.put(k, value);
+				}
+			});
+			return result;
+		});
+	}
+
+	public static void main(String[] args) {
+		List<Person> persons = CollectionsUtitlity.getPersonsList();
+
+		System.out.println(persons.stream().collect(Collectors.groupingBy(Person::getAge, Collectors.counting())));
+		System.out.println(persons.stream().collect(countingToIntLongMap(Person::getAge)));
+
+		System.out.println(persons.parallelStream().collect(summingIntByKey(p -> p.getName().length(), Person::getAge)));
+		System.out.println(persons.parallelStream()
+				.collect(groupingByInt(Person::getAge, Collectors.mapping(Person::getName, Collectors.joining(", ")))));
+	}
+}
@@ -17,10 +17,14 @@ public class Streams2 {
 		for (char e : c) {
 			l.add(e);
 		}
+		// toMap needs a merge function, without it the second 'a' throws IllegalStateException
 		Map<String, Integer> a=
-		l.stream().map(d->d).collect(Collectors.toMap(d->String.valueOf(d),e->Integer.valueOf(e)));
+		l.stream().collect(Collectors.toMap(d->String.valueOf(d),e->1,Integer::sum));
 		
 		System.out.println(a);
+
+		// same counts without boxing a Character or a String per char
+		System.out.println(CharHistogram.ofChars(s));
 		
 //		System.out.println(res);
 	}
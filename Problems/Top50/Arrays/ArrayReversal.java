@@ -0,0 +1,641 @@
+package Problems.Top50.Arrays;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ArrayReversal
+ *
+ * In place reversal, range reversal and rotation for every primitive array type
+ * and for off-heap memory.
+ *
+ * Reversing a[from, to) swaps a[i] with a[from + to - 1 - i] for the left half,
+ * and the swaps are independent, so parallelReverse(..) splits the left half into
+ * fork/join chunks that each swap their own pairs. rotate(..) is three reversals.
+ *
+ * Off-heap data is a direct ByteBuffer holding fixed width elements (1, 2, 4 or
+ * 8 bytes); reverse(buffer, elementSize) reverses the elements between position
+ * and limit.
+ */
+public class ArrayReversal {
+
+    // swaps per fork/join leaf
+    static final int THRESHOLD = 1 << 16;
+
+    private ArrayReversal() {
+    }
+
+    // ---------- int[] ----------
+
+    public static void reverse(int[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(int[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(int[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(int[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                int t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(int[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(int[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- long[] ----------
+
+    public static void reverse(long[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(long[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(long[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(long[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                long t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(long[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(long[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- short[] ----------
+
+    public static void reverse(short[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(short[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            short t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(short[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(short[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                short t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(short[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(short[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- byte[] ----------
+
+    public static void reverse(byte[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(byte[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            byte t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(byte[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(byte[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                byte t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(byte[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(byte[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- char[] ----------
+
+    public static void reverse(char[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(char[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            char t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(char[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(char[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                char t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(char[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(char[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- float[] ----------
+
+    public static void reverse(float[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(float[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            float t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(float[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(float[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                float t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(float[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(float[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- double[] ----------
+
+    public static void reverse(double[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(double[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(double[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(double[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                double t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(double[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(double[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- boolean[] ----------
+
+    public static void reverse(boolean[] a) {
+        reverse(a, 0, a.length);
+    }
+
+    // reverses a[from, to)
+    public static void reverse(boolean[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            boolean t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    public static void parallelReverse(boolean[] a) {
+        parallelReverse(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(boolean[] a, int from, int to, ForkJoinPool pool) {
+        checkRange(a.length, from, to);
+        swapInParallel(from, to, pool, (lo, hi) -> {
+            for (int i = lo, j = from + to - 1 - lo; i < hi; i++, j--) {
+                boolean t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        });
+    }
+
+    // moves every element distance places to the right, wrapping around, like Collections.rotate
+    public static void rotate(boolean[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        reverse(a, 0, n);
+        reverse(a, 0, d);
+        reverse(a, d, n);
+    }
+
+    public static void parallelRotate(boolean[] a, int distance) {
+        int n = a.length;
+        int d = rotation(n, distance);
+        if (d == 0) {
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelReverse(a, 0, n, pool);
+        parallelReverse(a, 0, d, pool);
+        parallelReverse(a, d, n, pool);
+    }
+
+    // ---------- off-heap ----------
+
+    // reverses the elementSize wide elements between position and limit, position is not moved
+    public static void reverse(ByteBuffer buffer, int elementSize) {
+        int from = buffer.position();
+        int to = buffer.limit();
+        checkElements(from, to, elementSize);
+        swapElements(buffer, elementSize, from, to, 0, (to - from) / elementSize / 2);
+    }
+
+    public static void parallelReverse(ByteBuffer buffer, int elementSize) {
+        parallelReverse(buffer, elementSize, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelReverse(ByteBuffer buffer, int elementSize, ForkJoinPool pool) {
+        int from = buffer.position();
+        int to = buffer.limit();
+        checkElements(from, to, elementSize);
+        int count = (to - from) / elementSize;
+        // tasks work on their own duplicate, a ByteBuffer is not meant to be shared between threads
+        swapInParallel(0, count, pool, (lo, hi) -> swapElements(buffer.duplicate().order(buffer.order()), elementSize,
+                from, to, lo, hi));
+    }
+
+    // rotates the elements between position and limit distance places to the right
+    public static void rotate(ByteBuffer buffer, int elementSize, int distance) {
+        int from = buffer.position();
+        int to = buffer.limit();
+        checkElements(from, to, elementSize);
+        int count = (to - from) / elementSize;
+        int d = rotation(count, distance);
+        if (d == 0) {
+            return;
+        }
+        ByteBuffer view = buffer.duplicate().order(buffer.order());
+        reverse(view, elementSize);
+        view.limit(from + d * elementSize);
+        reverse(view, elementSize);
+        view.limit(to).position(from + d * elementSize);
+        reverse(view, elementSize);
+    }
+
+    // swaps element k with element count - 1 - k for k in [lo, hi)
+    private static void swapElements(ByteBuffer b, int size, int from, int to, int lo, int hi) {
+        for (int k = lo; k < hi; k++) {
+            int i = from + k * size;
+            int j = to - (k + 1) * size;
+            switch (size) {
+                case 1: {
+                    byte t = b.get(i);
+                    b.put(i, b.get(j));
+                    b.put(j, t);
+                    break;
+                }
+                case 2: {
+                    short t = b.getShort(i);
+                    b.putShort(i, b.getShort(j));
+                    b.putShort(j, t);
+                    break;
+                }
+                case 4: {
+                    int t = b.getInt(i);
+                    b.putInt(i, b.getInt(j));
+                    b.putInt(j, t);
+                    break;
+                }
+                default: {
+                    long t = b.getLong(i);
+                    b.putLong(i, b.getLong(j));
+                    b.putLong(j, t);
+                }
+            }
+        }
+    }
+
+    private static void checkElements(int from, int to, int elementSize) {
+        if (elementSize != 1 && elementSize != 2 && elementSize != 4 && elementSize != 8) {
+            throw new IllegalArgumentException("Element size must be 1, 2, 4 or 8: " + elementSize);
+        }
+        if ((to - from) % elementSize != 0) {
+            throw new IllegalArgumentException((to - from) + " bytes is not a whole number of " + elementSize
+                    + " byte elements");
+        }
+    }
+
+    // ---------- internals ----------
+
+    // swaps pairs whose left index is in [lo, hi)
+    private interface Swapper {
+        void swap(int lo, int hi);
+    }
+
+    // runs swapper over the left half of [from, to) in fork/join chunks
+    private static void swapInParallel(int from, int to, ForkJoinPool pool, Swapper swapper) {
+        int half = (to - from) / 2;
+        if (half <= THRESHOLD) {
+            swapper.swap(from, from + half);
+            return;
+        }
+        pool.invoke(new SwapTask(swapper, from, from + half));
+    }
+
+    private static final class SwapTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Swapper swapper;
+        private final int lo;
+        private final int hi;
+
+        SwapTask(Swapper swapper, int lo, int hi) {
+            this.swapper = swapper;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= THRESHOLD) {
+                swapper.swap(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SwapTask(swapper, lo, mid), new SwapTask(swapper, mid, hi));
+        }
+    }
+
+    // rotation distance normalised into [0, n)
+    private static int rotation(int n, int distance) {
+        return n == 0 ? 0 : Math.floorMod(distance, n);
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] arr = { 1, 2, 3, 4 };
+        reverse(arr);
+        System.out.println(Arrays.toString(arr));
+
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        int[] big = new int[n];
+        for (int i = 0; i < n; i++) {
+            big[i] = i;
+        }
+        long t0 = System.nanoTime();
+        reverse(big);
+        System.out.printf("n=%,d sequential %d ms%n", n, (System.nanoTime() - t0) / 1_000_000);
+        int cores = Runtime.getRuntime().availableProcessors();
+        // doubling, with the full core count as the last step
+        for (int threads = 1; ; threads = Math.min(2 * threads, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                parallelReverse(big, 0, n, pool);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            pool.shutdown();
+            System.out.printf("n=%,d parallel with %d threads %d ms%n", n, threads, best / 1_000_000);
+            if (threads == cores) {
+                break;
+            }
+        }
+        ByteBuffer offHeap = ByteBuffer.allocateDirect(n / 4 * Long.BYTES);
+        long start = System.nanoTime();
+        parallelReverse(offHeap, Long.BYTES);
+        System.out.printf("%,d off-heap longs parallel %d ms%n", n / 4, (System.nanoTime() - start) / 1_000_000);
+    }
+}
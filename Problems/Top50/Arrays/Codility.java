@@ -1,17 +1,12 @@
 package Problems.Top50.Arrays;
 
-import java.util.Arrays;
 /**
  * Codility
  */
-import java.util.Collections;
 public class Codility {
     public static int solution(int[] A) {
-        // Implement your solution here
-        int max=Collections.max(Arrays.asList(A));
-        System.out.println(max);
-        
-        return x;
+        // O(n) with a bitmap over 1..n+1, A is left untouched
+        return FirstMissingPositive.bitmap(A);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,182 @@
+package Problems.Top50.Arrays;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * FirstMissingPositive
+ *
+ * Smallest positive int that does not occur in the array (the Codility
+ * "MissingInteger" task). The answer is always in 1..n+1, so only values in that
+ * range matter.
+ *
+ * inPlace   O(n) time, O(1) space, cyclic sort: every value v in 1..n is swapped
+ *           into slot v-1, then the first slot i not holding i+1 gives the answer.
+ *           Reorders the input.
+ * bitmap    O(n) time, n+1 bits, leaves the input untouched.
+ * parallel  bitmap with the marking split over fork/join tasks, bits are set with
+ *           an atomic OR so chunks can share words. For arrays of 100M+ elements.
+ * naive     the original O(n * max) search, kept as the reference.
+ */
+public class FirstMissingPositive {
+
+    static final int THRESHOLD = 1 << 20;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private FirstMissingPositive() {
+    }
+
+    public static int inPlace(int[] a) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            int v = a[i];
+            // keep swapping until slot i holds a value that is out of range or already placed
+            while (v >= 1 && v <= n && a[v - 1] != v) {
+                a[i] = a[v - 1];
+                a[v - 1] = v;
+                v = a[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (a[i] != i + 1) {
+                return i + 1;
+            }
+        }
+        return n + 1;
+    }
+
+    public static int bitmap(int[] a) {
+        int n = a.length;
+        long[] seen = new long[(n >>> 6) + 1];
+        for (int v : a) {
+            if (v >= 1 && v <= n) {
+                seen[v >>> 6] |= 1L << v;
+            }
+        }
+        return firstClear(seen, n);
+    }
+
+    public static int parallel(int[] a) {
+        return parallel(a, ForkJoinPool.commonPool());
+    }
+
+    public static int parallel(int[] a, ForkJoinPool pool) {
+        int n = a.length;
+        if (n <= THRESHOLD) {
+            return bitmap(a);
+        }
+        long[] seen = new long[(n >>> 6) + 1];
+        pool.invoke(new Mark(a, seen, 0, n));
+        return firstClear(seen, n);
+    }
+
+    // reference implementation, O(n * max)
+    public static int naive(int[] a) {
+        int x = 1;
+        while (true) {
+            boolean found = false;
+            for (int v : a) {
+                if (v == x) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return x;
+            }
+            x++;
+        }
+    }
+
+    // smallest v in 1..n whose bit is clear, n + 1 if all are set
+    private static int firstClear(long[] seen, int n) {
+        // bit 0 of word 0 stands for the value 0, which is never missing
+        seen[0] |= 1L;
+        for (int w = 0; w < seen.length; w++) {
+            long missing = ~seen[w];
+            if (missing != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(missing);
+                return Math.min(v, n + 1);
+            }
+        }
+        return n + 1;
+    }
+
+    private static final class Mark extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final long[] seen;
+        private final int from;
+        private final int to;
+
+        Mark(int[] a, long[] seen, int from, int to) {
+            this.a = a;
+            this.seen = seen;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                int n = a.length;
+                for (int i = from; i < to; i++) {
+                    int v = a[i];
+                    if (v >= 1 && v <= n) {
+                        int word = v >>> 6;
+                        long bit = 1L << v;
+                        // skip the atomic when the bit is already there, common with duplicates
+                        if (((long) WORDS.getOpaque(seen, word) & bit) == 0) {
+                            WORDS.getAndBitwiseOr(seen, word, bit);
+                        }
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Mark(a, seen, from, mid), new Mark(a, seen, mid, to));
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] arr = { 1, 3, 6, 4, 1, 2 };
+        System.out.println(inPlace(arr.clone()) + " " + bitmap(arr) + " " + parallel(arr) + " " + naive(arr));
+
+        Random random = new Random(11);
+        for (int n : new int[] { 10_000, 100_000, 10_000_000, 100_000_000 }) {
+            // a permutation of 1..n with one value knocked out, the worst case for naive
+            int[] a = new int[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = i + 1;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+            a[random.nextInt(n)] = -1;
+
+            long t0 = System.nanoTime();
+            int bits = bitmap(a);
+            long t1 = System.nanoTime();
+            int par = parallel(a);
+            long t2 = System.nanoTime();
+            int swapped = inPlace(a.clone());
+            long t3 = System.nanoTime();
+            String naive = "skipped";
+            if (n <= 100_000) {
+                long t4 = System.nanoTime();
+                int expected = naive(a);
+                naive = expected + " in " + (System.nanoTime() - t4) / 1_000_000 + " ms";
+            }
+            System.out.printf("n=%,d bitmap %d in %d ms, parallel %d in %d ms, inPlace %d in %d ms (incl. clone), naive %s%n",
+                    n, bits, (t1 - t0) / 1_000_000, par, (t2 - t1) / 1_000_000, swapped, (t3 - t2) / 1_000_000, naive);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package Problems.Top50.Arrays;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * MaxSubarray
+ *
+ * Maximum sum contiguous subarray, with the indexes of the subarray.
+ *
+ * kadane(..) is the linear single pass version of KadaneAlgorith.
+ * parallel(..) splits the array with fork/join. Every chunk is reduced to a
+ * summary (total, best prefix, best suffix, best subarray) and two neighbouring
+ * summaries merge in O(1):
+ *   total  = left.total + right.total
+ *   prefix = max(left.prefix, left.total + right.prefix)
+ *   suffix = max(right.suffix, right.total + left.suffix)
+ *   best   = max(left.best, right.best, left.suffix + right.prefix)
+ * so the work stays O(n) and spreads over all cores.
+ *
+ * The subarray is never empty, for an all negative array it is the largest element.
+ * int[] sums are computed in long; long[] sums may overflow like any long addition.
+ * When several subarrays have the same sum, either may be returned.
+ */
+public class MaxSubarray {
+
+    // below this many elements a chunk is reduced sequentially
+    static final int THRESHOLD = 1 << 16;
+
+    public static final class Result {
+        public final long sum;
+        public final int start;
+        public final int end; // inclusive
+
+        Result(long sum, int start, int end) {
+            this.sum = sum;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String toString() {
+            return "Result [sum=" + sum + ", start=" + start + ", end=" + end + "]";
+        }
+    }
+
+    public static final class DoubleResult {
+        public final double sum;
+        public final int start;
+        public final int end; // inclusive
+
+        DoubleResult(double sum, int start, int end) {
+            this.sum = sum;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String toString() {
+            return "DoubleResult [sum=" + sum + ", start=" + start + ", end=" + end + "]";
+        }
+    }
+
+    private MaxSubarray() {
+    }
+
+    // ---------- sequential Kadane ----------
+
+    public static Result kadane(int[] a) {
+        checkNotEmpty(a.length);
+        long best = a[0];
+        int bestStart = 0;
+        int bestEnd = 0;
+        long current = a[0];
+        int start = 0;
+        for (int i = 1; i < a.length; i++) {
+            if (current < 0) {
+                current = a[i];
+                start = i;
+            } else {
+                current += a[i];
+            }
+            if (current > best) {
+                best = current;
+                bestStart = start;
+                bestEnd = i;
+            }
+        }
+        return new Result(best, bestStart, bestEnd);
+    }
+
+    public static Result kadane(long[] a) {
+        checkNotEmpty(a.length);
+        long best = a[0];
+        int bestStart = 0;
+        int bestEnd = 0;
+        long current = a[0];
+        int start = 0;
+        for (int i = 1; i < a.length; i++) {
+            if (current < 0) {
+                current = a[i];
+                start = i;
+            } else {
+                current += a[i];
+            }
+            if (current > best) {
+                best = current;
+                bestStart = start;
+                bestEnd = i;
+            }
+        }
+        return new Result(best, bestStart, bestEnd);
+    }
+
+    public static DoubleResult kadane(double[] a) {
+        checkNotEmpty(a.length);
+        double best = a[0];
+        int bestStart = 0;
+        int bestEnd = 0;
+        double current = a[0];
+        int start = 0;
+        for (int i = 1; i < a.length; i++) {
+            if (current < 0) {
+                current = a[i];
+                start = i;
+            } else {
+                current += a[i];
+            }
+            if (current > best) {
+                best = current;
+                bestStart = start;
+                bestEnd = i;
+            }
+        }
+        return new DoubleResult(best, bestStart, bestEnd);
+    }
+
+    // ---------- fork/join divide and conquer ----------
+
+    public static Result parallel(int[] a) {
+        return parallel(a, ForkJoinPool.commonPool());
+    }
+
+    public static Result parallel(int[] a, ForkJoinPool pool) {
+        checkNotEmpty(a.length);
+        LongSummary s = pool.invoke(new LongTask((from, to) -> LongSummary.of(a, from, to), 0, a.length));
+        return new Result(s.best, s.bestStart, s.bestEnd);
+    }
+
+    public static Result parallel(long[] a) {
+        return parallel(a, ForkJoinPool.commonPool());
+    }
+
+    public static Result parallel(long[] a, ForkJoinPool pool) {
+        checkNotEmpty(a.length);
+        LongSummary s = pool.invoke(new LongTask((from, to) -> LongSummary.of(a, from, to), 0, a.length));
+        return new Result(s.best, s.bestStart, s.bestEnd);
+    }
+
+    public static DoubleResult parallel(double[] a) {
+        return parallel(a, ForkJoinPool.commonPool());
+    }
+
+    public static DoubleResult parallel(double[] a, ForkJoinPool pool) {
+        checkNotEmpty(a.length);
+        DoubleSummary s = pool.invoke(new DoubleTask(a, 0, a.length));
+        return new DoubleResult(s.best, s.bestStart, s.bestEnd);
+    }
+
+    private static void checkNotEmpty(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Array must not be empty");
+        }
+    }
+
+    // reduces a[from, to) sequentially, one implementation per array type
+    private interface LongLeaf {
+        LongSummary reduce(int from, int to);
+    }
+
+    // splits [from, to) in halves until a chunk is below THRESHOLD
+    private static final class LongTask extends RecursiveTask<LongSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final LongLeaf leaf;
+        private final int from;
+        private final int to;
+
+        LongTask(LongLeaf leaf, int from, int to) {
+            this.leaf = leaf;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongSummary compute() {
+            if (to - from <= THRESHOLD) {
+                return leaf.reduce(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            LongTask left = new LongTask(leaf, from, mid);
+            left.fork();
+            LongSummary r = new LongTask(leaf, mid, to).compute();
+            return LongSummary.merge(left.join(), r);
+        }
+    }
+
+    private static final class DoubleTask extends RecursiveTask<DoubleSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final int from;
+        private final int to;
+
+        DoubleTask(double[] a, int from, int to) {
+            this.a = a;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DoubleSummary compute() {
+            if (to - from <= THRESHOLD) {
+                return DoubleSummary.of(a, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            DoubleTask left = new DoubleTask(a, from, mid);
+            left.fork();
+            DoubleSummary r = new DoubleTask(a, mid, to).compute();
+            return DoubleSummary.merge(left.join(), r);
+        }
+    }
+
+    static final class LongSummary {
+        long total;
+        long prefix;
+        int prefixEnd;
+        long suffix;
+        int suffixStart;
+        long best;
+        int bestStart;
+        int bestEnd;
+
+        static LongSummary of(int[] a, int from, int to) {
+            LongSummary s = new LongSummary();
+            s.prefix = a[from];
+            s.prefixEnd = from;
+            s.best = a[from];
+            s.bestStart = from;
+            s.bestEnd = from;
+            long current = 0;
+            int start = from;
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                int x = a[i];
+                total += x;
+                if (total > s.prefix) {
+                    s.prefix = total;
+                    s.prefixEnd = i;
+                }
+                if (i > from && current < 0) {
+                    current = x;
+                    start = i;
+                } else {
+                    current += x;
+                }
+                if (current > s.best) {
+                    s.best = current;
+                    s.bestStart = start;
+                    s.bestEnd = i;
+                }
+            }
+            s.total = total;
+            // best suffix: walk back from the end
+            long sum = 0;
+            s.suffix = a[to - 1];
+            s.suffixStart = to - 1;
+            for (int i = to - 1; i >= from; i--) {
+                sum += a[i];
+                if (sum > s.suffix) {
+                    s.suffix = sum;
+                    s.suffixStart = i;
+                }
+            }
+            return s;
+        }
+
+        static LongSummary of(long[] a, int from, int to) {
+            LongSummary s = new LongSummary();
+            s.prefix = a[from];
+            s.prefixEnd = from;
+            s.best = a[from];
+            s.bestStart = from;
+            s.bestEnd = from;
+            long current = 0;
+            int start = from;
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                long x = a[i];
+                total += x;
+                if (total > s.prefix) {
+                    s.prefix = total;
+                    s.prefixEnd = i;
+                }
+                if (i > from && current < 0) {
+                    current = x;
+                    start = i;
+                } else {
+                    current += x;
+                }
+                if (current > s.best) {
+                    s.best = current;
+                    s.bestStart = start;
+                    s.bestEnd = i;
+                }
+            }
+            s.total = total;
+            long sum = 0;
+            s.suffix = a[to - 1];
+            s.suffixStart = to - 1;
+            for (int i = to - 1; i >= from; i--) {
+                sum += a[i];
+                if (sum > s.suffix) {
+                    s.suffix = sum;
+                    s.suffixStart = i;
+                }
+            }
+            return s;
+        }
+
+        // left covers the elements just before right
+        static LongSummary merge(LongSummary l, LongSummary r) {
+            LongSummary s = new LongSummary();
+            s.total = l.total + r.total;
+
+            s.prefix = l.prefix;
+            s.prefixEnd = l.prefixEnd;
+            if (l.total + r.prefix > s.prefix) {
+                s.prefix = l.total + r.prefix;
+                s.prefixEnd = r.prefixEnd;
+            }
+
+            s.suffix = r.suffix;
+            s.suffixStart = r.suffixStart;
+            if (r.total + l.suffix > s.suffix) {
+                s.suffix = r.total + l.suffix;
+                s.suffixStart = l.suffixStart;
+            }
+
+            s.best = l.best;
+            s.bestStart = l.bestStart;
+            s.bestEnd = l.bestEnd;
+            if (r.best > s.best) {
+                s.best = r.best;
+                s.bestStart = r.bestStart;
+                s.bestEnd = r.bestEnd;
+            }
+            if (l.suffix + r.prefix > s.best) {
+                s.best = l.suffix + r.prefix;
+                s.bestStart = l.suffixStart;
+                s.bestEnd = r.prefixEnd;
+            }
+            return s;
+        }
+    }
+
+    static final class DoubleSummary {
+        double total;
+        double prefix;
+        int prefixEnd;
+        double suffix;
+        int suffixStart;
+        double best;
+        int bestStart;
+        int bestEnd;
+
+        static DoubleSummary of(double[] a, int from, int to) {
+            DoubleSummary s = new DoubleSummary();
+            s.prefix = a[from];
+            s.prefixEnd = from;
+            s.best = a[from];
+            s.bestStart = from;
+            s.bestEnd = from;
+            double current = 0;
+            int start = from;
+            double total = 0;
+            for (int i = from; i < to; i++) {
+                double x = a[i];
+                total += x;
+                if (total > s.prefix) {
+                    s.prefix = total;
+                    s.prefixEnd = i;
+                }
+                if (i > from && current < 0) {
+                    current = x;
+                    start = i;
+                } else {
+                    current += x;
+                }
+                if (current > s.best) {
+                    s.best = current;
+                    s.bestStart = start;
+                    s.bestEnd = i;
+                }
+            }
+            s.total = total;
+            double sum = 0;
+            s.suffix = a[to - 1];
+            s.suffixStart = to - 1;
+            for (int i = to - 1; i >= from; i--) {
+                sum += a[i];
+                if (sum > s.suffix) {
+                    s.suffix = sum;
+                    s.suffixStart = i;
+                }
+            }
+            return s;
+        }
+
+        static DoubleSummary merge(DoubleSummary l, DoubleSummary r) {
+            DoubleSummary s = new DoubleSummary();
+            s.total = l.total + r.total;
+
+            s.prefix = l.prefix;
+            s.prefixEnd = l.prefixEnd;
+            if (l.total + r.prefix > s.prefix) {
+                s.prefix = l.total + r.prefix;
+                s.prefixEnd = r.prefixEnd;
+            }
+
+            s.suffix = r.suffix;
+            s.suffixStart = r.suffixStart;
+            if (r.total + l.suffix > s.suffix) {
+                s.suffix = r.total + l.suffix;
+                s.suffixStart = l.suffixStart;
+            }
+
+            s.best = l.best;
+            s.bestStart = l.bestStart;
+            s.bestEnd = l.bestEnd;
+            if (r.best > s.best) {
+                s.best = r.best;
+                s.bestStart = r.bestStart;
+                s.bestEnd = r.bestEnd;
+            }
+            if (l.suffix + r.prefix > s.best) {
+                s.best = l.suffix + r.prefix;
+                s.bestStart = l.suffixStart;
+                s.bestEnd = r.prefixEnd;
+            }
+            return s;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] arr = { -3, -4, 5, -1, 2, -4, 6, -1 };
+        System.out.println(kadane(arr));
+        System.out.println(parallel(arr));
+
+        int n = 20_000_000;
+        int[] signal = new int[n];
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < n; i++) {
+            signal[i] = random.nextInt(2001) - 1000;
+        }
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            Result s = kadane(signal);
+            long t1 = System.nanoTime();
+            Result p = parallel(signal);
+            long t2 = System.nanoTime();
+            System.out.printf("kadane %s %d ms, parallel %s %d ms%n", s, (t1 - t0) / 1_000_000, p,
+                    (t2 - t1) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package Problems.Top50.Arrays;
+
+import java.util.function.IntConsumer;
+
+/**
+ * MaxSubarrayTracker
+ *
+ * Online Kadane: values arrive one at a time and the best subarray seen so far is
+ * known after every element, in O(1) per value and without keeping the history.
+ * Positions count from 0 in arrival order.
+ */
+public class MaxSubarrayTracker implements IntConsumer {
+
+    private long count;
+
+    // best subarray ending at the latest value
+    private long current;
+
+    private long currentStart;
+
+    private long best;
+
+    private long bestStart;
+
+    private long bestEnd;
+
+    public MaxSubarrayTracker() {
+        reset();
+    }
+
+    @Override
+    public void accept(int value) {
+        if (count == 0 || current < 0) {
+            current = value;
+            currentStart = count;
+        } else {
+            current += value;
+        }
+        if (count == 0 || current > best) {
+            best = current;
+            bestStart = currentStart;
+            bestEnd = count;
+        }
+        count++;
+    }
+
+    public void reset() {
+        count = 0;
+        current = 0;
+        currentStart = 0;
+        best = Long.MIN_VALUE;
+        bestStart = -1;
+        bestEnd = -1;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    // sum of the best subarray so far, Long.MIN_VALUE before the first value
+    public long best() {
+        return best;
+    }
+
+    public long bestStart() {
+        return bestStart;
+    }
+
+    // inclusive
+    public long bestEnd() {
+        return bestEnd;
+    }
+
+    // best subarray that ends at the latest value
+    public long bestEndingHere() {
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "MaxSubarrayTracker [count=" + count + ", best=" + best + ", start=" + bestStart + ", end=" + bestEnd
+                + "]";
+    }
+
+    public static void main(String[] args) {
+        MaxSubarrayTracker tracker = new MaxSubarrayTracker();
+        for (int x : new int[] { -3, -4, 5, -1, 2, -4, 6, -1 }) {
+            tracker.accept(x);
+            System.out.println(x + " -> " + tracker);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package Problems.Top50.Arrays;
+
+import java.util.function.IntConsumer;
+
+/**
+ * SlidingWindow
+ *
+ * Sum, min, max and maximum subarray sum over the last windowSize values of an
+ * int stream. Every update is O(1) amortized and, after construction, allocates
+ * nothing: all state lives in arrays sized by the window.
+ *
+ *   sum              running total, oldest value subtracted on eviction
+ *   min / max        monotonic deques of positions, the head is the answer
+ *   maxSubarray      two stack sliding aggregation over (total, prefix, suffix, best)
+ *                    summaries, the same ones MaxSubarray.parallel merges. The back
+ *                    stack is folded into one summary on push, the front stack keeps
+ *                    a summary per element and is rebuilt from the ring when empty.
+ */
+public class SlidingWindow implements IntConsumer {
+
+    private final int windowSize;
+
+    // ring of the last windowSize values, value at position p is in values[p % windowSize]
+    private final int[] values;
+
+    // total values accepted, also the position of the next one
+    private long count;
+
+    private int size;
+
+    private long sum;
+
+    // monotonic deques of positions, stored in rings of windowSize slots
+    private final long[] minDeque;
+    private long minHead;
+    private long minTail;
+
+    private final long[] maxDeque;
+    private long maxHead;
+    private long maxTail;
+
+    // front stack: summary of elements i..end of the front part, top is the oldest element
+    private final long[] frontTotal;
+    private final long[] frontPrefix;
+    private final long[] frontSuffix;
+    private final long[] frontBest;
+    private int frontSize;
+
+    // back part folded into one summary
+    private long backTotal;
+    private long backPrefix;
+    private long backSuffix;
+    private long backBest;
+    private int backSize;
+
+    public SlidingWindow(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        values = new int[windowSize];
+        minDeque = new long[windowSize];
+        maxDeque = new long[windowSize];
+        frontTotal = new long[windowSize];
+        frontPrefix = new long[windowSize];
+        frontSuffix = new long[windowSize];
+        frontBest = new long[windowSize];
+    }
+
+    @Override
+    public void accept(int value) {
+        if (size == windowSize) {
+            evictOldest();
+        }
+        long position = count++;
+        values[(int) (position % windowSize)] = value;
+        size++;
+        sum += value;
+
+        while (minTail > minHead && valueAt(minDeque[(int) ((minTail - 1) % windowSize)]) >= value) {
+            minTail--;
+        }
+        minDeque[(int) (minTail++ % windowSize)] = position;
+        while (maxTail > maxHead && valueAt(maxDeque[(int) ((maxTail - 1) % windowSize)]) <= value) {
+            maxTail--;
+        }
+        maxDeque[(int) (maxTail++ % windowSize)] = position;
+
+        if (backSize == 0) {
+            backTotal = backPrefix = backSuffix = backBest = value;
+        } else {
+            long total = backTotal + value;
+            backPrefix = Math.max(backPrefix, total);
+            backBest = Math.max(backBest, Math.max(value, backSuffix + value));
+            backSuffix = Math.max(value, backSuffix + value);
+            backTotal = total;
+        }
+        backSize++;
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    // number of values currently in the window, at most windowSize
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == windowSize;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public int min() {
+        checkNotEmpty();
+        return valueAt(minDeque[(int) (minHead % windowSize)]);
+    }
+
+    public int max() {
+        checkNotEmpty();
+        return valueAt(maxDeque[(int) (maxHead % windowSize)]);
+    }
+
+    // largest sum of a non empty contiguous run inside the window
+    public long maxSubarray() {
+        checkNotEmpty();
+        if (frontSize == 0) {
+            return backBest;
+        }
+        int top = frontSize - 1;
+        if (backSize == 0) {
+            return frontBest[top];
+        }
+        return Math.max(Math.max(frontBest[top], backBest), frontSuffix[top] + backPrefix);
+    }
+
+    public void clear() {
+        count = 0;
+        size = 0;
+        sum = 0;
+        minHead = minTail = maxHead = maxTail = 0;
+        frontSize = 0;
+        backSize = 0;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "SlidingWindow [windowSize=" + windowSize + ", size=0]";
+        }
+        return "SlidingWindow [windowSize=" + windowSize + ", size=" + size + ", sum=" + sum + ", min=" + min()
+                + ", max=" + max() + ", maxSubarray=" + maxSubarray() + "]";
+    }
+
+    // ---------- internals ----------
+
+    private void evictOldest() {
+        long oldest = count - size;
+        sum -= valueAt(oldest);
+        if (minDeque[(int) (minHead % windowSize)] == oldest) {
+            minHead++;
+        }
+        if (maxDeque[(int) (maxHead % windowSize)] == oldest) {
+            maxHead++;
+        }
+        if (frontSize == 0) {
+            flipBackToFront();
+        }
+        frontSize--;
+        size--;
+    }
+
+    // rebuilds the front stack from the values of the back part, newest first so the oldest ends on top
+    private void flipBackToFront() {
+        long oldest = count - size;
+        int n = backSize;
+        for (int i = 0; i < n; i++) {
+            long value = valueAt(oldest + n - 1 - i);
+            if (i == 0) {
+                frontTotal[i] = frontPrefix[i] = frontSuffix[i] = frontBest[i] = value;
+            } else {
+                // summary of (value, then everything below it on the stack)
+                long rTotal = frontTotal[i - 1];
+                long rPrefix = frontPrefix[i - 1];
+                long rSuffix = frontSuffix[i - 1];
+                long rBest = frontBest[i - 1];
+                frontTotal[i] = value + rTotal;
+                frontPrefix[i] = Math.max(value, value + rPrefix);
+                frontSuffix[i] = Math.max(rSuffix, rTotal + value);
+                frontBest[i] = Math.max(Math.max(value, rBest), value + rPrefix);
+            }
+        }
+        frontSize = n;
+        backSize = 0;
+    }
+
+    private int valueAt(long position) {
+        return values[(int) (position % windowSize)];
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Window is empty");
+        }
+    }
+
+    public static void main(String[] args) {
+        SlidingWindow window = new SlidingWindow(4);
+        for (int x : new int[] { -3, -4, 5, -1, 2, -4, 6, -1 }) {
+            window.accept(x);
+            System.out.println(x + " -> " + window);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package Problems.Top50.Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * CommonPrefix
+ *
+ * Longest common prefix of many keys without substring() in a loop.
+ *
+ * The common prefix of a whole set equals the common prefix of its
+ * lexicographically smallest and largest key, so one pass finds min and max and a
+ * single Arrays.mismatch finishes the job. The min/max pass is a plain reduction
+ * and runs as fork/join divide and conquer for millions of keys.
+ *
+ * Keys can be String, char[] or byte[] (UTF-8 route keys, compared unsigned).
+ * Every method returns the prefix length, whatever the key type, cut any key to
+ * it for the prefix itself: keys[0].substring(0, CommonPrefix.length(keys)).
+ * lcpArray(..) gives the prefix length shared by every pair of neighbours in a
+ * sorted key set.
+ */
+public class CommonPrefix {
+
+    // keys per fork/join leaf
+    static final int THRESHOLD = 1 << 14;
+
+    private static final Comparator<byte[]> UNSIGNED = Arrays::compareUnsigned;
+
+    private static final Comparator<char[]> CHARS = Arrays::compare;
+
+    private CommonPrefix() {
+    }
+
+    // ---------- two keys ----------
+
+    public static int length(char[] a, char[] b) {
+        int i = Arrays.mismatch(a, b);
+        return i < 0 ? a.length : i;
+    }
+
+    public static int length(byte[] a, byte[] b) {
+        int i = Arrays.mismatch(a, b);
+        return i < 0 ? a.length : i;
+    }
+
+    public static int length(CharSequence a, CharSequence b) {
+        int n = Math.min(a.length(), b.length());
+        for (int i = 0; i < n; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return n;
+    }
+
+    // ---------- whole set, sequential ----------
+
+    public static int length(String[] keys) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        String min = keys[0];
+        String max = keys[0];
+        for (String key : keys) {
+            if (key.compareTo(min) < 0) {
+                min = key;
+            } else if (key.compareTo(max) > 0) {
+                max = key;
+            }
+        }
+        return length(min, max);
+    }
+
+    public static int length(char[][] keys) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        char[][] minMax = minMax(keys, 0, keys.length, CHARS);
+        return length(minMax[0], minMax[1]);
+    }
+
+    public static int length(byte[][] keys) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        byte[][] minMax = minMax(keys, 0, keys.length, UNSIGNED);
+        return length(minMax[0], minMax[1]);
+    }
+
+    // ---------- whole set, fork/join ----------
+
+    public static int parallel(String[] keys) {
+        return parallel(keys, ForkJoinPool.commonPool());
+    }
+
+    public static int parallel(String[] keys, ForkJoinPool pool) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        String[] minMax = pool.invoke(new MinMax<>(keys, 0, keys.length, Comparator.naturalOrder()));
+        return length(minMax[0], minMax[1]);
+    }
+
+    public static int parallel(byte[][] keys) {
+        return parallel(keys, ForkJoinPool.commonPool());
+    }
+
+    public static int parallel(byte[][] keys, ForkJoinPool pool) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        byte[][] minMax = pool.invoke(new MinMax<>(keys, 0, keys.length, UNSIGNED));
+        return length(minMax[0], minMax[1]);
+    }
+
+    public static int parallel(char[][] keys) {
+        return parallel(keys, ForkJoinPool.commonPool());
+    }
+
+    public static int parallel(char[][] keys, ForkJoinPool pool) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        char[][] minMax = pool.invoke(new MinMax<>(keys, 0, keys.length, CHARS));
+        return length(minMax[0], minMax[1]);
+    }
+
+    // ---------- LCP array of a sorted key set ----------
+
+    // lcp[i] = common prefix length of keys[i - 1] and keys[i], lcp[0] = 0
+    public static int[] lcpArray(byte[][] sortedKeys) {
+        int[] lcp = new int[sortedKeys.length];
+        IntStream range = IntStream.range(1, sortedKeys.length);
+        if (sortedKeys.length > THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> lcp[i] = length(sortedKeys[i - 1], sortedKeys[i]));
+        return lcp;
+    }
+
+    public static int[] lcpArray(char[][] sortedKeys) {
+        int[] lcp = new int[sortedKeys.length];
+        IntStream range = IntStream.range(1, sortedKeys.length);
+        if (sortedKeys.length > THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> lcp[i] = length(sortedKeys[i - 1], sortedKeys[i]));
+        return lcp;
+    }
+
+    public static int[] lcpArray(String[] sortedKeys) {
+        int[] lcp = new int[sortedKeys.length];
+        IntStream range = IntStream.range(1, sortedKeys.length);
+        if (sortedKeys.length > THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> lcp[i] = length(sortedKeys[i - 1], sortedKeys[i]));
+        return lcp;
+    }
+
+    public static byte[][] utf8(String[] keys) {
+        byte[][] bytes = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            bytes[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    // ---------- internals ----------
+
+    private static <T> T[] minMax(T[] keys, int from, int to, Comparator<? super T> order) {
+        T min = keys[from];
+        T max = keys[from];
+        for (int i = from + 1; i < to; i++) {
+            T key = keys[i];
+            if (order.compare(key, min) < 0) {
+                min = key;
+            } else if (order.compare(key, max) > 0) {
+                max = key;
+            }
+        }
+        T[] result = Arrays.copyOf(keys, 2);
+        result[0] = min;
+        result[1] = max;
+        return result;
+    }
+
+    // min and max key of keys[from, to)
+    private static final class MinMax<T> extends RecursiveTask<T[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] keys;
+        private final int from;
+        private final int to;
+        private final Comparator<? super T> order;
+
+        MinMax(T[] keys, int from, int to, Comparator<? super T> order) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.order = order;
+        }
+
+        @Override
+        protected T[] compute() {
+            if (to - from <= THRESHOLD) {
+                return minMax(keys, from, to, order);
+            }
+            int mid = (from + to) >>> 1;
+            MinMax<T> left = new MinMax<>(keys, from, mid, order);
+            left.fork();
+            T[] r = new MinMax<>(keys, mid, to, order).compute();
+            T[] l = left.join();
+            if (order.compare(r[0], l[0]) < 0) {
+                l[0] = r[0];
+            }
+            if (order.compare(r[1], l[1]) > 0) {
+                l[1] = r[1];
+            }
+            return l;
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] fruits = { "apple", "ape", "april" };
+        System.out.println(fruits[0].substring(0, length(fruits)));
+
+        int n = 2_000_000;
+        String[] routes = new String[n];
+        for (int i = 0; i < n; i++) {
+            routes[i] = "/api/v1/persons/" + (i % 7) + "/address/" + i;
+        }
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            int sequential = length(routes);
+            long t1 = System.nanoTime();
+            int forkJoin = parallel(routes);
+            long t2 = System.nanoTime();
+            System.out.printf("%d sequential %d ms, %d parallel %d ms%n", sequential, (t1 - t0) / 1_000_000,
+                    forkJoin, (t2 - t1) / 1_000_000);
+        }
+        String[] sorted = Arrays.copyOf(routes, 10);
+        Arrays.sort(sorted);
+        System.out.println(Arrays.toString(lcpArray(sorted)));
+    }
+}
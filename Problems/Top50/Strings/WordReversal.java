@@ -0,0 +1,216 @@
+package Problems.Top50.Strings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * WordReversal
+ *
+ * Reverses the order of the words of a text in place: reverse the whole buffer,
+ * then reverse every run back. "hi Harish kumar" becomes "kumar Harish hi".
+ * Whitespace runs are kept as they are, only their position changes, so
+ * "a  b" becomes "b  a". No split(), no String per word, no copying.
+ *
+ * Works on char[], CharBuffer and ByteBuffer. For bytes, whitespace is ASCII
+ * whitespace; UTF-8 multi byte characters never contain those bytes and their
+ * bytes are reversed twice, so they come out intact.
+ *
+ * reverseLines(..) memory maps a file and reverses the words of every line,
+ * either in place or into a second file of the same size.
+ */
+public class WordReversal {
+
+    // bytes mapped at a time by the file mode
+    static final int WINDOW = 1 << 28;
+
+    private WordReversal() {
+    }
+
+    // ---------- char[] ----------
+
+    public static void reverseWords(char[] text) {
+        reverseWords(text, 0, text.length);
+    }
+
+    // reverses the words of text[from, to)
+    public static void reverseWords(char[] text, int from, int to) {
+        reverse(text, from, to - 1);
+        int start = from;
+        while (start < to) {
+            boolean space = Character.isWhitespace(text[start]);
+            int end = start + 1;
+            while (end < to && Character.isWhitespace(text[end]) == space) {
+                end++;
+            }
+            reverse(text, start, end - 1);
+            start = end;
+        }
+    }
+
+    // ---------- CharBuffer ----------
+
+    // reverses the words between position and limit, the position is not moved
+    public static void reverseWords(CharBuffer text) {
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            reverseWords(text.array(), offset + text.position(), offset + text.limit());
+            return;
+        }
+        int from = text.position();
+        int to = text.limit();
+        reverse(text, from, to - 1);
+        int start = from;
+        while (start < to) {
+            boolean space = Character.isWhitespace(text.get(start));
+            int end = start + 1;
+            while (end < to && Character.isWhitespace(text.get(end)) == space) {
+                end++;
+            }
+            reverse(text, start, end - 1);
+            start = end;
+        }
+    }
+
+    // ---------- ByteBuffer ----------
+
+    // reverses the words between position and limit, the position is not moved
+    public static void reverseWords(ByteBuffer text) {
+        reverseWords(text, text.position(), text.limit());
+    }
+
+    public static void reverseWords(ByteBuffer text, int from, int to) {
+        reverse(text, from, to - 1);
+        int start = from;
+        while (start < to) {
+            boolean space = isSpace(text.get(start));
+            int end = start + 1;
+            while (end < to && isSpace(text.get(end)) == space) {
+                end++;
+            }
+            reverse(text, start, end - 1);
+            start = end;
+        }
+    }
+
+    // ---------- memory mapped files ----------
+
+    // reverses the words of every line of file, in place
+    public static void reverseLines(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            int window = WINDOW;
+            while (position < size) {
+                int length = (int) Math.min(window, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+                int done = reverseLines(buffer, length, position + length == size);
+                if (done == 0) {
+                    // one line longer than the window, map a bigger one
+                    window = growWindow(window);
+                    continue;
+                }
+                buffer.force();
+                position += done;
+                window = WINDOW;
+            }
+        }
+    }
+
+    // writes source with the words of every line reversed into target, source is not modified
+    public static void reverseLines(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            int window = WINDOW;
+            while (position < size) {
+                int length = (int) Math.min(window, size - position);
+                MappedByteBuffer from = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                MappedByteBuffer to = out.map(FileChannel.MapMode.READ_WRITE, position, length);
+                to.put(from).clear();
+                int done = reverseLines(to, length, position + length == size);
+                if (done == 0) {
+                    window = growWindow(window);
+                    continue;
+                }
+                to.force();
+                position += done;
+                window = WINDOW;
+            }
+        }
+    }
+
+    // reverses every complete line in buffer[0, length), returns the bytes handled
+    private static int reverseLines(ByteBuffer buffer, int length, boolean last) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) == '\n') {
+                int end = i > start && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                reverseWords(buffer, start, end);
+                start = i + 1;
+            }
+        }
+        if (last && start < length) {
+            reverseWords(buffer, start, length);
+            start = length;
+        }
+        return start;
+    }
+
+    private static int growWindow(int window) {
+        if (window == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Line longer than " + Integer.MAX_VALUE + " bytes");
+        }
+        return (int) Math.min((long) window * 2, Integer.MAX_VALUE);
+    }
+
+    // ---------- internals ----------
+
+    private static void reverse(char[] a, int i, int j) {
+        while (i < j) {
+            char t = a[i];
+            a[i++] = a[j];
+            a[j--] = t;
+        }
+    }
+
+    private static void reverse(CharBuffer a, int i, int j) {
+        while (i < j) {
+            char t = a.get(i);
+            a.put(i++, a.get(j));
+            a.put(j--, t);
+        }
+    }
+
+    private static void reverse(ByteBuffer a, int i, int j) {
+        while (i < j) {
+            byte t = a.get(i);
+            a.put(i++, a.get(j));
+            a.put(j--, t);
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    public static void main(String[] args) throws IOException {
+        char[] s = "hi Harish kumar".toCharArray();
+        reverseWords(s);
+        System.out.println(new String(s));
+
+        Path file = Files.createTempFile("sentences", ".txt");
+        Files.write(file, "hi Harish kumar\nthe  quick brown fox\r\nlast line".getBytes(StandardCharsets.UTF_8));
+        reverseLines(file);
+        System.out.println(Files.readString(file));
+        Files.delete(file);
+    }
+}
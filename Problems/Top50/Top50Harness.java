@@ -0,0 +1,353 @@
+package Problems.Top50;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import Problems.Arrays.KadaneAlgorith;
+import Problems.Top50.Arrays.ArrayReversal;
+import Problems.Top50.Arrays.Codility;
+import Problems.Top50.Arrays.FirstMissingPositive;
+import Problems.Top50.Arrays.MaxSubarray;
+import Problems.Top50.Arrays.MaxSubarrayTracker;
+import Problems.Top50.Strings.CommonPrefix;
+import Problems.Top50.Strings.WordReversal;
+
+/**
+ * Top50Harness
+ *
+ * Runs every solution under Problems/Top50 on generated inputs of growing size
+ * (1e2, 1e3, ... up to maxSize), checks each result against a reference
+ * implementation and records the time and the bytes allocated per size.
+ *
+ * The report is one tab separated line per (problem, solution, size), always in
+ * the same order, so two runs can be diffed. "slope" is the log-log slope of the
+ * time against the previous size: about 1 for O(n), 2 for O(n^2).
+ *
+ * usage: Top50Harness [maxSize] [reportFile]   (default 1000000, stdout only)
+ * Slow solutions (the original O(n^2) and O(n * max) ones) stop at their own cap.
+ * Allocation is measured for the calling thread, work done inside fork/join
+ * workers is not counted.
+ */
+public class Top50Harness {
+
+    private static final long SEED = 20231018L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * One problem: how to generate an input, the reference answer and the solutions.
+     */
+    abstract static class Problem<I, R> {
+        final String name;
+        final int maxSize;
+        final Map<String, Solution<I, R>> solutions = new LinkedHashMap<>();
+
+        Problem(String name, int maxSize) {
+            this.name = name;
+            this.maxSize = maxSize;
+        }
+
+        abstract I generate(int n, Random random);
+
+        abstract R reference(I input);
+
+        // solutions may modify their input, each run gets a copy
+        abstract I copy(I input);
+
+        boolean same(R expected, R actual) {
+            return expected.equals(actual);
+        }
+
+        Problem<I, R> add(String solution, int cap, Function<I, R> run) {
+            solutions.put(solution, new Solution<>(cap, run));
+            return this;
+        }
+    }
+
+    static final class Solution<I, R> {
+        final int cap;
+        final Function<I, R> run;
+
+        Solution(int cap, Function<I, R> run) {
+            this.cap = cap;
+            this.run = run;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        long maxSize = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        List<String> report = new ArrayList<>();
+        report.add("problem\tsolution\tn\tstatus\tms\tns_per_elem\talloc_bytes\tslope");
+
+        for (Problem<?, ?> problem : problems()) {
+            run(problem, maxSize, report);
+        }
+
+        PrintStream out = System.out;
+        report.forEach(out::println);
+        if (args.length > 1) {
+            Path file = Paths.get(args[1]);
+            Files.write(file, report);
+            out.println("report written to " + file.toAbsolutePath());
+        }
+    }
+
+    static List<Problem<?, ?>> problems() {
+        List<Problem<?, ?>> problems = new ArrayList<>();
+
+        problems.add(new Problem<int[], Long>("maxSubarray", 100_000_000) {
+            int[] generate(int n, Random random) {
+                int[] a = new int[n];
+                for (int i = 0; i < n; i++) {
+                    a[i] = random.nextInt(2001) - 1000;
+                }
+                return a;
+            }
+
+            // brute force while it is affordable, prefix sums with a running minimum above that
+            Long reference(int[] a) {
+                if (a.length <= 10_000) {
+                    long best = Long.MIN_VALUE;
+                    for (int i = 0; i < a.length; i++) {
+                        long sum = 0;
+                        for (int j = i; j < a.length; j++) {
+                            sum += a[j];
+                            best = Math.max(best, sum);
+                        }
+                    }
+                    return best;
+                }
+                long prefix = 0;
+                long minPrefix = 0;
+                long best = Long.MIN_VALUE;
+                for (int x : a) {
+                    prefix += x;
+                    best = Math.max(best, prefix - minPrefix);
+                    minPrefix = Math.min(minPrefix, prefix);
+                }
+                return best;
+            }
+
+            int[] copy(int[] a) {
+                return a;
+            }
+        }.add("KadaneAlgorith.maximumSubarraySum", 100_000, a -> (long) KadaneAlgorith.maximumSubarraySum(a))
+                .add("MaxSubarray.kadane", Integer.MAX_VALUE, a -> MaxSubarray.kadane(a).sum)
+                .add("MaxSubarray.parallel", Integer.MAX_VALUE, a -> MaxSubarray.parallel(a).sum)
+                .add("MaxSubarrayTracker", Integer.MAX_VALUE, a -> {
+                    MaxSubarrayTracker tracker = new MaxSubarrayTracker();
+                    for (int x : a) {
+                        tracker.accept(x);
+                    }
+                    return tracker.best();
+                }));
+
+        problems.add(new Problem<int[], Integer>("firstMissingPositive", 100_000_000) {
+            // a shuffled 1..n with one value knocked out, worst case for the naive search
+            int[] generate(int n, Random random) {
+                int[] a = new int[n];
+                for (int i = 0; i < n; i++) {
+                    a[i] = i + 1;
+                }
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+                a[random.nextInt(n)] = -random.nextInt(10);
+                return a;
+            }
+
+            // sort and scan
+            Integer reference(int[] input) {
+                int[] a = input.clone();
+                Arrays.sort(a);
+                int expected = 1;
+                for (int v : a) {
+                    if (v == expected) {
+                        expected++;
+                    } else if (v > expected) {
+                        break;
+                    }
+                }
+                return expected;
+            }
+
+            int[] copy(int[] a) {
+                return a.clone();
+            }
+        }.add("FirstMissingPositive.naive", 100_000, FirstMissingPositive::naive)
+                .add("Codility.solution", Integer.MAX_VALUE, Codility::solution)
+                .add("FirstMissingPositive.inPlace", Integer.MAX_VALUE, FirstMissingPositive::inPlace)
+                .add("FirstMissingPositive.bitmap", Integer.MAX_VALUE, FirstMissingPositive::bitmap)
+                .add("FirstMissingPositive.parallel", Integer.MAX_VALUE, FirstMissingPositive::parallel));
+
+        problems.add(new Problem<int[], int[]>("reverseArray", 100_000_000) {
+            int[] generate(int n, Random random) {
+                int[] a = new int[n];
+                for (int i = 0; i < n; i++) {
+                    a[i] = random.nextInt();
+                }
+                return a;
+            }
+
+            int[] reference(int[] a) {
+                int[] r = new int[a.length];
+                for (int i = 0; i < a.length; i++) {
+                    r[a.length - 1 - i] = a[i];
+                }
+                return r;
+            }
+
+            int[] copy(int[] a) {
+                return a.clone();
+            }
+
+            boolean same(int[] expected, int[] actual) {
+                return Arrays.equals(expected, actual);
+            }
+        }.add("ArrayReversal.reverse", Integer.MAX_VALUE, a -> {
+            ArrayReversal.reverse(a);
+            return a;
+        }).add("ArrayReversal.parallelReverse", Integer.MAX_VALUE, a -> {
+            ArrayReversal.parallelReverse(a);
+            return a;
+        }));
+
+        problems.add(new Problem<String[], Integer>("longestCommonPrefix", 10_000_000) {
+            // route like keys sharing a prefix of random length
+            String[] generate(int n, Random random) {
+                String shared = "/api/v1/persons/" + Integer.toString(random.nextInt(1 << 20), 36) + "/";
+                String[] keys = new String[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = shared + Integer.toString(random.nextInt(), 36);
+                }
+                return keys;
+            }
+
+            // shrink the candidate prefix with one char by char compare per key
+            Integer reference(String[] keys) {
+                int length = keys[0].length();
+                for (String key : keys) {
+                    int i = 0;
+                    while (i < length && i < key.length() && key.charAt(i) == keys[0].charAt(i)) {
+                        i++;
+                    }
+                    length = i;
+                }
+                return length;
+            }
+
+            String[] copy(String[] keys) {
+                return keys;
+            }
+        }.add("CommonPrefix.length", Integer.MAX_VALUE, CommonPrefix::length)
+                .add("CommonPrefix.parallel", Integer.MAX_VALUE, CommonPrefix::parallel));
+
+        problems.add(new Problem<char[], char[]>("reverseWords", 100_000_000) {
+            // words of 1..10 letters separated by 1..3 spaces
+            char[] generate(int n, Random random) {
+                char[] text = new char[n];
+                int i = 0;
+                while (i < n) {
+                    int word = 1 + random.nextInt(10);
+                    for (int k = 0; k < word && i < n; k++) {
+                        text[i++] = (char) ('a' + random.nextInt(26));
+                    }
+                    int spaces = 1 + random.nextInt(3);
+                    for (int k = 0; k < spaces && i < n; k++) {
+                        text[i++] = ' ';
+                    }
+                }
+                return text;
+            }
+
+            // walk the runs from the end and copy them out in that order
+            char[] reference(char[] text) {
+                char[] reversed = new char[text.length];
+                int out = 0;
+                int end = text.length;
+                while (end > 0) {
+                    boolean space = text[end - 1] == ' ';
+                    int start = end - 1;
+                    while (start > 0 && (text[start - 1] == ' ') == space) {
+                        start--;
+                    }
+                    System.arraycopy(text, start, reversed, out, end - start);
+                    out += end - start;
+                    end = start;
+                }
+                return reversed;
+            }
+
+            char[] copy(char[] text) {
+                return text.clone();
+            }
+
+            boolean same(char[] expected, char[] actual) {
+                return Arrays.equals(expected, actual);
+            }
+        }.add("WordReversal.reverseWords", Integer.MAX_VALUE, text -> {
+            WordReversal.reverseWords(text);
+            return text;
+        }));
+
+        return problems;
+    }
+
+    private static <I, R> void run(Problem<I, R> problem, long maxSize, List<String> report) {
+        Map<String, Double> previousNanos = new LinkedHashMap<>();
+        Map<String, Integer> previousSize = new LinkedHashMap<>();
+        for (long size = 100; size <= Math.min(maxSize, problem.maxSize); size *= 10) {
+            int n = (int) size;
+            I input = problem.generate(n, new Random(SEED + n));
+            R expected = problem.reference(problem.copy(input));
+            for (Map.Entry<String, Solution<I, R>> e : problem.solutions.entrySet()) {
+                String name = e.getKey();
+                Solution<I, R> solution = e.getValue();
+                if (n > solution.cap) {
+                    continue;
+                }
+                int rounds = n <= 100_000 ? 5 : n <= 10_000_000 ? 3 : 1;
+                long bestNanos = Long.MAX_VALUE;
+                long bestAlloc = Long.MAX_VALUE;
+                boolean ok = true;
+                for (int round = 0; round < rounds; round++) {
+                    I copy = problem.copy(input);
+                    long allocBefore = THREADS.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    R actual = solution.run.apply(copy);
+                    long nanos = System.nanoTime() - start;
+                    long alloc = THREADS.getCurrentThreadAllocatedBytes() - allocBefore;
+                    ok &= problem.same(expected, actual);
+                    bestNanos = Math.min(bestNanos, nanos);
+                    bestAlloc = Math.min(bestAlloc, alloc);
+                }
+                String slope = "-";
+                Double before = previousNanos.get(name);
+                if (before != null) {
+                    double ratio = Math.log((double) bestNanos / before) / Math.log((double) n / previousSize.get(name));
+                    slope = String.format(Locale.ROOT, "%.2f", ratio);
+                }
+                previousNanos.put(name, (double) bestNanos);
+                previousSize.put(name, n);
+                report.add(String.format(Locale.ROOT, "%s\t%s\t%d\t%s\t%.3f\t%.2f\t%d\t%s", problem.name, name, n,
+                        ok ? "OK" : "MISMATCH", bestNanos / 1e6, (double) bestNanos / n, bestAlloc, slope));
+            }
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package com.practice.practice.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-process read-through cache bounded by entry count and by estimated weight.
+ *
+ * Eviction policy:
+ * <ul>
+ * <li>LRU: a single access ordered queue, the least recently used entry goes first.</li>
+ * <li>TINY_LFU: W-TinyLFU. New entries land in a small LRU window. An entry
+ * leaving the window only enters the main space if it has been asked for more
+ * often than the main space's eviction victim, judged by a count-min frequency
+ * sketch that ages by halving. The main space is a segmented LRU (probation /
+ * protected). A one-off scan therefore cannot flush the entries that are used
+ * all the time. The window gets 1% and the protected segment 80% of the rest,
+ * of the entry count and of the weight alike, so they stay in proportion
+ * whichever bound binds. Needs maximumSize, the sketch is sized in entries.</li>
+ * </ul>
+ *
+ * get(key, loader) is single flight: concurrent misses on the same key wait for
+ * one load. Entries expire a fixed time after they were written. invalidate()
+ * also cancels the caching of a load that is still running, so a value read
+ * before a write can never be stored after the write invalidated it.
+ *
+ * Loaders returning null are not cached. One lock guards the queues; the loads
+ * run outside it.
+ */
+public class BoundedCache<K, V> {
+
+	public enum Policy {
+		LRU, TINY_LFU
+	}
+
+	private static final int WINDOW = 0;
+
+	private static final int PROBATION = 1;
+
+	private static final int PROTECTED = 2;
+
+	private final Policy policy;
+
+	private final long maximumSize;
+
+	private final long maximumWeight;
+
+	private final ToLongFunction<? super V> weigher;
+
+	private final long ttlNanos;
+
+	private final LongSupplier ticker;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Map<K, Node<K, V>> data = new HashMap<>();
+
+	private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+	// access ordered queues, head is the eldest
+	private final Queue<K, V> window = new Queue<>();
+
+	private final Queue<K, V> probation = new Queue<>();
+
+	private final Queue<K, V> protectedQueue = new Queue<>();
+
+	// each segment is held to its share of both bounds and overflows at whichever it reaches first
+	private final long windowMaxSize;
+
+	private final long windowMaxWeight;
+
+	private final long protectedMaxSize;
+
+	private final long protectedMaxWeight;
+
+	private final FrequencySketch sketch;
+
+	private long weight;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder loads = new LongAdder();
+
+	private final LongAdder loadFailures = new LongAdder();
+
+	private final LongAdder coalescedLoads = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder expirations = new LongAdder();
+
+	private BoundedCache(Builder<K, V> builder) {
+		this.policy = builder.policy;
+		this.maximumSize = builder.maximumSize;
+		this.maximumWeight = builder.maximumWeight;
+		this.weigher = builder.weigher;
+		this.ttlNanos = builder.ttl == null ? Long.MAX_VALUE : builder.ttl.toNanos();
+		this.ticker = builder.ticker;
+		if (policy == Policy.LRU) {
+			this.windowMaxSize = Long.MAX_VALUE;
+			this.windowMaxWeight = Long.MAX_VALUE;
+			this.protectedMaxSize = 0;
+			this.protectedMaxWeight = 0;
+			this.sketch = null;
+		} else {
+			// the builder makes TINY_LFU set maximumSize, the weight bound is optional
+			this.windowMaxSize = Math.max(1, maximumSize / 100);
+			this.protectedMaxSize = (long) ((maximumSize - windowMaxSize) * 0.8);
+			boolean weighed = maximumWeight != Long.MAX_VALUE;
+			this.windowMaxWeight = weighed ? Math.max(1, maximumWeight / 100) : Long.MAX_VALUE;
+			this.protectedMaxWeight = weighed ? (long) ((maximumWeight - windowMaxWeight) * 0.8) : Long.MAX_VALUE;
+			this.sketch = new FrequencySketch(maximumSize);
+		}
+	}
+
+	public static <K, V> Builder<K, V> builder() {
+		return new Builder<>();
+	}
+
+	// ---------- reading ----------
+
+	// cached value or null, counts a hit or a miss
+	public V getIfPresent(K key) {
+		V value = lookup(key, true);
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	// cached value, or the loader's value stored for the next caller; concurrent misses share one load
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = getIfPresent(key);
+		if (value != null) {
+			return value;
+		}
+		CompletableFuture<V> mine = new CompletableFuture<>();
+		CompletableFuture<V> running = loading.putIfAbsent(key, mine);
+		if (running != null) {
+			coalescedLoads.increment();
+			return await(running);
+		}
+		try {
+			// a load that finished between the miss above and putIfAbsent already stored the value
+			V stored = lookup(key, false);
+			if (stored != null) {
+				finishLoad(key, mine, null);
+				mine.complete(stored);
+				return stored;
+			}
+			V loaded = loader.apply(key);
+			loads.increment();
+			finishLoad(key, mine, loaded);
+			mine.complete(loaded);
+			return loaded;
+		} catch (RuntimeException | Error e) {
+			loadFailures.increment();
+			finishLoad(key, mine, null);
+			mine.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	// ---------- writing ----------
+
+	public void put(K key, V value) {
+		if (value == null) {
+			throw new NullPointerException("BoundedCache does not store null values");
+		}
+		lock.lock();
+		try {
+			store(key, value);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// drops the entry and makes a load in progress for key return without storing its value
+	public void invalidate(K key) {
+		lock.lock();
+		try {
+			loading.remove(key);
+			Node<K, V> node = data.remove(key);
+			if (node != null) {
+				unlink(node);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void invalidateAll() {
+		lock.lock();
+		try {
+			loading.clear();
+			data.clear();
+			window.clear();
+			probation.clear();
+			protectedQueue.clear();
+			weight = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// ---------- statistics ----------
+
+	public long size() {
+		lock.lock();
+		try {
+			return data.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long weight() {
+		lock.lock();
+		try {
+			return weight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public CacheStats stats() {
+		lock.lock();
+		try {
+			return new CacheStats(policy.name(), hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(),
+					coalescedLoads.sum(), evictions.sum(), expirations.sum(), data.size(), weight);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// ---------- internals ----------
+
+	private V lookup(K key, boolean recordAccess) {
+		lock.lock();
+		try {
+			if (recordAccess && sketch != null) {
+				sketch.increment(key);
+			}
+			Node<K, V> node = data.get(key);
+			if (node == null) {
+				return null;
+			}
+			if (ticker.getAsLong() - node.writtenAt >= ttlNanos) {
+				data.remove(key);
+				unlink(node);
+				expirations.increment();
+				return null;
+			}
+			if (recordAccess) {
+				onHit(node);
+			}
+			return node.value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// stores the loaded value unless the load was invalidated meanwhile, then ends the single flight
+	private void finishLoad(K key, CompletableFuture<V> load, V value) {
+		lock.lock();
+		try {
+			if (loading.remove(key, load) && value != null) {
+				store(key, value);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void store(K key, V value) {
+		long w = weigher.applyAsLong(value);
+		if (w < 0) {
+			throw new IllegalArgumentException("Negative weight " + w + " for " + key);
+		}
+		Node<K, V> node = data.get(key);
+		if (node != null) {
+			// re-queued at the young end of its segment with the new weight
+			Queue<K, V> queue = queueOf(node);
+			queue.remove(node);
+			weight += w - node.weight;
+			node.value = value;
+			node.weight = w;
+			node.writtenAt = ticker.getAsLong();
+			queue.addLast(node);
+		} else {
+			node = new Node<>(key, value, w, ticker.getAsLong());
+			data.put(key, node);
+			weight += w;
+			node.queue = WINDOW;
+			window.addLast(node);
+		}
+		evict();
+	}
+
+	private void onHit(Node<K, V> node) {
+		switch (node.queue) {
+		case WINDOW:
+			window.moveToLast(node);
+			break;
+		case PROBATION:
+			// second hit in the main space, promote and demote the eldest protected entries if needed
+			probation.remove(node);
+			node.queue = PROTECTED;
+			protectedQueue.addLast(node);
+			while ((protectedQueue.size > protectedMaxSize || protectedQueue.weight > protectedMaxWeight)
+					&& protectedQueue.head != null) {
+				Node<K, V> demoted = protectedQueue.removeFirst();
+				demoted.queue = PROBATION;
+				probation.addLast(demoted);
+			}
+			break;
+		default:
+			protectedQueue.moveToLast(node);
+		}
+	}
+
+	private void evict() {
+		// window overflow: the window's eldest entry competes with the main space's victim
+		while ((window.size > windowMaxSize || window.weight > windowMaxWeight) && window.head != null) {
+			Node<K, V> candidate = window.removeFirst();
+			boolean admitted = true;
+			while (overBounds()) {
+				Node<K, V> victim = probation.head != null ? probation.head : protectedQueue.head;
+				if (victim == null) {
+					break;
+				}
+				if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+					removeEvicted(victim);
+				} else {
+					admitted = false;
+					break;
+				}
+			}
+			if (admitted) {
+				candidate.queue = PROBATION;
+				probation.addLast(candidate);
+			} else {
+				data.remove(candidate.key);
+				weight -= candidate.weight;
+				evictions.increment();
+			}
+		}
+		// plain LRU, or an entry heavier than the main space can take
+		while (overBounds()) {
+			Node<K, V> victim = window.head != null ? window.head
+					: probation.head != null ? probation.head : protectedQueue.head;
+			removeEvicted(victim);
+		}
+	}
+
+	private boolean overBounds() {
+		return data.size() > maximumSize || weight > maximumWeight;
+	}
+
+	private void removeEvicted(Node<K, V> node) {
+		data.remove(node.key);
+		unlink(node);
+		evictions.increment();
+	}
+
+	private void unlink(Node<K, V> node) {
+		queueOf(node).remove(node);
+		weight -= node.weight;
+	}
+
+	private Queue<K, V> queueOf(Node<K, V> node) {
+		return node.queue == WINDOW ? window : node.queue == PROBATION ? probation : protectedQueue;
+	}
+
+	private static <V> V await(CompletableFuture<V> load) {
+		try {
+			return load.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static final class Node<K, V> {
+		final K key;
+		V value;
+		long weight;
+		long writtenAt;
+		int queue;
+		Node<K, V> prev;
+		Node<K, V> next;
+
+		Node(K key, V value, long weight, long writtenAt) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writtenAt = writtenAt;
+		}
+	}
+
+	// intrusive doubly linked list that keeps its entry count and total weight
+	private static final class Queue<K, V> {
+		Node<K, V> head;
+		Node<K, V> tail;
+		long size;
+		long weight;
+
+		void addLast(Node<K, V> node) {
+			node.prev = tail;
+			node.next = null;
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.next = node;
+			}
+			tail = node;
+			size++;
+			weight += node.weight;
+		}
+
+		Node<K, V> removeFirst() {
+			Node<K, V> node = head;
+			remove(node);
+			return node;
+		}
+
+		void remove(Node<K, V> node) {
+			if (node.prev == null) {
+				head = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+			if (node.next == null) {
+				tail = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+			node.prev = null;
+			node.next = null;
+			size--;
+			weight -= node.weight;
+		}
+
+		void moveToLast(Node<K, V> node) {
+			if (tail != node) {
+				remove(node);
+				addLast(node);
+			}
+		}
+
+		void clear() {
+			head = null;
+			tail = null;
+			size = 0;
+			weight = 0;
+		}
+	}
+
+	/**
+	 * Count-min sketch of 4 rows of 4 bit counters, 16 to a long, 8 counters per
+	 * expected entry in each row: 16 bytes per entry. After 10 increments per
+	 * expected entry every counter is halved, so old popularity fades.
+	 */
+	static final class FrequencySketch {
+
+		private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+		private static final long HALVE_MASK = 0x7777_7777_7777_7777L;
+
+		private final long[][] rows = new long[SEEDS.length][];
+
+		private final int mask;
+
+		private final long sampleSize;
+
+		private long additions;
+
+		FrequencySketch(long expectedEntries) {
+			long entries = Math.min(Math.max(expectedEntries, 16), 1 << 22);
+			int width = Integer.highestOneBit((int) entries * 8 - 1) << 1;
+			for (int i = 0; i < rows.length; i++) {
+				rows[i] = new long[width / 16];
+			}
+			this.mask = width - 1;
+			this.sampleSize = 10 * entries;
+		}
+
+		void increment(Object key) {
+			int hash = spread(key.hashCode());
+			boolean added = false;
+			for (int i = 0; i < rows.length; i++) {
+				int index = index(hash, i);
+				int shift = (index & 15) << 2;
+				if ((rows[i][index >>> 4] >>> shift & 0xF) < 15) {
+					rows[i][index >>> 4] += 1L << shift;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				age();
+			}
+		}
+
+		int frequency(Object key) {
+			int hash = spread(key.hashCode());
+			int min = 15;
+			for (int i = 0; i < rows.length; i++) {
+				int index = index(hash, i);
+				min = Math.min(min, (int) (rows[i][index >>> 4] >>> ((index & 15) << 2) & 0xF));
+			}
+			return min;
+		}
+
+		private void age() {
+			// halves the 16 counters of a word at once, the mask drops the bit shifted in from the next counter
+			for (long[] row : rows) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] = row[i] >>> 1 & HALVE_MASK;
+				}
+			}
+			additions /= 2;
+		}
+
+		private int index(int hash, int row) {
+			int h = hash * SEEDS[row];
+			return (h ^ h >>> 16) & mask;
+		}
+
+		private static int spread(int h) {
+			h ^= h >>> 16;
+			h *= 0x45D9F3B;
+			return h ^ h >>> 16;
+		}
+	}
+
+	public static final class Builder<K, V> {
+		private Policy policy = Policy.TINY_LFU;
+		private long maximumSize = Long.MAX_VALUE;
+		private long maximumWeight = Long.MAX_VALUE;
+		private ToLongFunction<? super V> weigher = v -> 1;
+		private Duration ttl;
+		private LongSupplier ticker = System::nanoTime;
+
+		public Builder<K, V> policy(Policy policy) {
+			this.policy = policy;
+			return this;
+		}
+
+		public Builder<K, V> maximumSize(long maximumSize) {
+			if (maximumSize <= 0) {
+				throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		// bound on the sum of weigher(value), e.g. estimated bytes
+		public Builder<K, V> maximumWeight(long maximumWeight, ToLongFunction<? super V> weigher) {
+			if (maximumWeight <= 0) {
+				throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+			}
+			this.maximumWeight = maximumWeight;
+			this.weigher = weigher;
+			return this;
+		}
+
+		public Builder<K, V> expireAfterWrite(Duration ttl) {
+			if (ttl.isNegative() || ttl.isZero()) {
+				throw new IllegalArgumentException("TTL must be positive: " + ttl);
+			}
+			this.ttl = ttl;
+			return this;
+		}
+
+		// nanosecond clock, for tests
+		public Builder<K, V> ticker(LongSupplier ticker) {
+			this.ticker = ticker;
+			return this;
+		}
+
+		public BoundedCache<K, V> build() {
+			if (maximumSize == Long.MAX_VALUE && maximumWeight == Long.MAX_VALUE) {
+				throw new IllegalStateException("Set maximumSize or maximumWeight, an unbounded cache is a leak");
+			}
+			if (policy == Policy.TINY_LFU && maximumSize == Long.MAX_VALUE) {
+				// the frequency sketch and the segments are sized in entries, a weight says nothing about the count
+				throw new IllegalStateException("TINY_LFU needs maximumSize, use LRU for a cache bounded by weight only");
+			}
+			return new BoundedCache<>(this);
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.practice.practice.cache;
+
+/**
+ * Snapshot of a BoundedCache's counters since it was created.
+ */
+public record CacheStats(String policy, long hits, long misses, long loads, long loadFailures, long coalescedLoads,
+		long evictions, long expirations, long size, long weight) {
+
+	public double hitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+}
@@ -0,0 +1,43 @@
+package com.practice.practice.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.practice.practice.cache.BoundedCache;
+import com.practice.practice.dto.PersonDto;
+
+@Configuration
+public class CacheConfig {
+
+	@Bean
+	public BoundedCache<Long, PersonDto> personCache(
+			@Value("${practice.cache.person.policy:TINY_LFU}") BoundedCache.Policy policy,
+			@Value("${practice.cache.person.maximum-size:10000}") long maximumSize,
+			@Value("${practice.cache.person.maximum-weight-bytes:16777216}") long maximumWeight,
+			@Value("${practice.cache.person.ttl:10m}") Duration ttl) {
+		return BoundedCache.<Long, PersonDto>builder()
+				.policy(policy)
+				.maximumSize(maximumSize)
+				.maximumWeight(maximumWeight, CacheConfig::estimatedBytes)
+				.expireAfterWrite(ttl)
+				.build();
+	}
+
+	// rough heap footprint of a cached person: objects, headers and the chars of its strings
+	static long estimatedBytes(PersonDto person) {
+		long bytes = 128;
+		bytes += chars(person.name()) + chars(person.phoneNo());
+		if (person.address() != null) {
+			bytes += 64 + chars(person.address().street()) + chars(person.address().city())
+					+ chars(person.address().state()) + chars(person.address().country());
+		}
+		return bytes;
+	}
+
+	private static long chars(String s) {
+		return s == null ? 0 : 40 + s.length();
+	}
+}
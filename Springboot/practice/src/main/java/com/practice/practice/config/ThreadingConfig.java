@@ -0,0 +1,77 @@
+package com.practice.practice.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Which threads run requests and async work, set by practice.threads.mode.
+ *
+ * platform (default): Tomcat's pool of server.tomcat.threads.max threads and
+ * Boot's applicationTaskExecutor pool. A request that blocks on the database
+ * holds its thread, so at most threads.max requests are in flight and the rest
+ * queue.
+ *
+ * virtual: every request and every @Async or async MVC task (the NDJSON export)
+ * gets its own virtual thread. A blocked virtual thread is parked and its
+ * carrier runs another one, concurrency is then bounded by what the blocking
+ * resource itself allows, e.g. the JDBC connection pool.
+ *
+ * Spring Boot 3.1 has no spring.threads.virtual.enabled and the build targets
+ * Java 17, so the executors are wired here through {@link VirtualThreads}. When
+ * virtual is asked for on a JVM without virtual threads the application warns
+ * and keeps platform threads.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+	static final String MODE = "practice.threads.mode";
+
+	public ThreadingConfig(@Value("${" + MODE + ":platform}") String mode) {
+		if (!"platform".equalsIgnoreCase(mode) && !"virtual".equalsIgnoreCase(mode)) {
+			throw new IllegalArgumentException(MODE + " must be platform or virtual: " + mode);
+		}
+		if ("virtual".equalsIgnoreCase(mode) && !VirtualThreads.supported()) {
+			log.warn("{}=virtual needs Java 21, running {}: staying on platform threads", MODE, Runtime.version());
+		} else {
+			log.info("Serving requests on {} threads", VirtualThreads.supported() ? mode.toLowerCase() : "platform");
+		}
+	}
+
+	@Bean
+	@Conditional(VirtualMode.class)
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequests() {
+		return handler -> handler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+	}
+
+	// replaces Boot's pool: its auto-configuration backs off, @Async finds the taskExecutor alias and async MVC
+	// picks applicationTaskExecutor by name
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	@Conditional(VirtualMode.class)
+	public AsyncTaskExecutor virtualThreadTasks() {
+		return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-vt-"));
+	}
+
+	static class VirtualMode implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return "virtual".equalsIgnoreCase(context.getEnvironment().getProperty(MODE, "platform"))
+					&& VirtualThreads.supported();
+		}
+	}
+}
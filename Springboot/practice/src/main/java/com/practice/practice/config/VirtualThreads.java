@@ -0,0 +1,97 @@
+package com.practice.practice.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads without compiling against Java 21.
+ *
+ * The project builds for Java 17, where Thread.ofVirtual() does not exist, so
+ * the API is looked up reflectively once. On a JVM that has it (21 and later,
+ * or 19/20 with preview features enabled) supported() is true and the
+ * factories hand out virtual threads, otherwise callers fall back to platform
+ * threads.
+ */
+public final class VirtualThreads {
+
+	private static final Method OF_VIRTUAL;
+
+	private static final Method NAME;
+
+	private static final Method FACTORY;
+
+	private static final Method IS_VIRTUAL;
+
+	private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+	static {
+		Method ofVirtual = null, name = null, factory = null, isVirtual = null, perTask = null;
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builder.getMethod("name", String.class, long.class);
+			factory = builder.getMethod("factory");
+			isVirtual = Thread.class.getMethod("isVirtual");
+			perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			// on 19 and 20 the methods exist but throw unless preview features are enabled
+			ofVirtual.invoke(null);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+		IS_VIRTUAL = isVirtual;
+		NEW_THREAD_PER_TASK_EXECUTOR = perTask;
+	}
+
+	private VirtualThreads() {
+	}
+
+	public static boolean supported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Factory of virtual threads named prefix0, prefix1, ...
+	 *
+	 * @throws UnsupportedOperationException if the JVM has no virtual threads
+	 */
+	public static ThreadFactory factory(String prefix) {
+		if (!supported()) {
+			throw new UnsupportedOperationException("Virtual threads need Java 21, running " + Runtime.version());
+		}
+		try {
+			Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+			return (ThreadFactory) FACTORY.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create a virtual thread factory", e);
+		}
+	}
+
+	/**
+	 * Executor that starts a new virtual thread per task. There is no pool and
+	 * no queue, a blocked task parks its virtual thread and frees the carrier.
+	 */
+	public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+		ThreadFactory factory = factory(prefix);
+		try {
+			return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create a virtual thread executor", e);
+		}
+	}
+
+	public static boolean isVirtual(Thread thread) {
+		if (IS_VIRTUAL == null) {
+			return false;
+		}
+		try {
+			return (boolean) IS_VIRTUAL.invoke(thread);
+		} catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+}
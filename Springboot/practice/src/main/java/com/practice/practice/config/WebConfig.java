@@ -0,0 +1,23 @@
+package com.practice.practice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.practice.practice.metrics.LatencyInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	private final LatencyInterceptor latencyInterceptor;
+
+	public WebConfig(LatencyInterceptor latencyInterceptor) {
+		this.latencyInterceptor = latencyInterceptor;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// reading the metrics should not show up in them
+		registry.addInterceptor(latencyInterceptor).excludePathPatterns("/metrics/**");
+	}
+}
@@ -0,0 +1,72 @@
+package com.practice.practice.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.practice.practice.dto.SlowQuery;
+import com.practice.practice.service.SlowDatabase;
+
+/**
+ * Endpoints that block on the simulated slow database, to load test the
+ * thread mode. Each one holds threads for as long as it is told to, so they
+ * exist only with practice.load.enabled=true and the waits are capped.
+ */
+@RestController
+@ConditionalOnProperty(name = "practice.load.enabled", havingValue = "true")
+@RequestMapping("/load")
+public class LoadController {
+
+	static final int MAX_CALLS = 1000;
+
+	static final long MAX_MILLIS = 10_000;
+
+	private final SlowDatabase database;
+
+	public LoadController(SlowDatabase database) {
+		this.database = database;
+	}
+
+	/**
+	 * One blocking query on the request thread, millis defaults to
+	 * practice.slow-db.latency.
+	 */
+	@GetMapping("/query")
+	public SlowQuery query(@RequestParam(defaultValue = "-1") long millis) {
+		checkMillis(millis);
+		return database.query(millis);
+	}
+
+	/**
+	 * calls queries at once on the application task executor, the request
+	 * waits for all of them.
+	 */
+	@GetMapping("/fanout")
+	public List<SlowQuery> fanout(@RequestParam(defaultValue = "10") int calls,
+			@RequestParam(defaultValue = "-1") long millis) {
+		if (calls < 1 || calls > MAX_CALLS) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "calls must be in 1.." + MAX_CALLS + ": " + calls);
+		}
+		checkMillis(millis);
+		List<CompletableFuture<SlowQuery>> queries = IntStream.range(0, calls)
+				.mapToObj(i -> database.queryAsync(millis))
+				.toList();
+		return queries.stream().map(CompletableFuture::join).toList();
+	}
+
+	// -1 stands for the configured latency
+	private static void checkMillis(long millis) {
+		if (millis < -1 || millis > MAX_MILLIS) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"millis must be in 0.." + MAX_MILLIS + " or -1: " + millis);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.practice.practice.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.practice.practice.metrics.LatencyRegistry;
+import com.practice.practice.metrics.LatencyReport;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+	private final LatencyRegistry registry;
+
+	public MetricsController(LatencyRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Count, throughput and p50 to p999 of every endpoint and repository method
+	 * since the interval began. reset=true starts the next interval, polled
+	 * that way it shows the latencies over time.
+	 */
+	@GetMapping("/latency")
+	public LatencyReport latency(@RequestParam(defaultValue = "false") boolean reset) {
+		return registry.report(reset);
+	}
+}
@@ -0,0 +1,130 @@
+package com.practice.practice.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.practice.practice.cache.CacheStats;
+import com.practice.practice.dto.IngestResult;
+import com.practice.practice.dto.PersonCursor;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.dto.PersonPage;
+import com.practice.practice.service.PersonExportService;
+import com.practice.practice.service.PersonIngestService;
+import com.practice.practice.service.PersonService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/persons")
+public class PersonController {
+
+	static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	static final int MAX_PAGE_SIZE = 1000;
+
+	private final PersonService personService;
+
+	private final PersonIngestService ingestService;
+
+	private final PersonExportService exportService;
+
+	private final ObjectMapper mapper;
+
+	public PersonController(PersonService personService, PersonIngestService ingestService,
+			PersonExportService exportService, ObjectMapper mapper) {
+		this.personService = personService;
+		this.ingestService = ingestService;
+		this.exportService = exportService;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Keyset pagination: sort is id or name, and the next page is requested with
+	 * the cursor returned as next. Each page costs the same however deep it is.
+	 */
+	@GetMapping
+	public PersonPage list(@RequestParam(defaultValue = "id") String sort, @RequestParam(defaultValue = "50") int size,
+			@RequestParam(required = false) String cursor) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be in 1.." + MAX_PAGE_SIZE + ": " + size);
+		}
+		try {
+			return personService.list(PersonCursor.Sort.parse(sort), size,
+					cursor == null ? null : PersonCursor.decode(cursor));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	@GetMapping("/{id}")
+	public PersonDto get(@PathVariable long id) {
+		return personService.find(id).orElseThrow(() -> notFound(id));
+	}
+
+	@PutMapping("/{id}")
+	public PersonDto update(@PathVariable long id, @RequestBody PersonDto person) {
+		return personService.update(id, person).orElseThrow(() -> notFound(id));
+	}
+
+	@DeleteMapping("/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void delete(@PathVariable long id) {
+		if (!personService.delete(id)) {
+			throw notFound(id);
+		}
+	}
+
+	@GetMapping("/cache/stats")
+	public CacheStats cacheStats() {
+		return personService.cache().stats();
+	}
+
+	/**
+	 * Bulk insert. The body is a JSON array or newline delimited JSON objects
+	 * (application/x-ndjson). It is parsed while the rows are written, the
+	 * request is never held in memory as a whole.
+	 */
+	@PostMapping(path = "/bulk", consumes = { "application/json", "application/x-ndjson" })
+	public IngestResult bulk(HttpServletRequest request) throws IOException {
+		// a reader started on a top level array iterates its elements, otherwise the root level values
+		try (InputStream body = request.getInputStream();
+				MappingIterator<PersonDto> rows = mapper.readerFor(PersonDto.class).readValues(body)) {
+			return ingestService.ingest(rows);
+		} catch (JsonProcessingException | RuntimeJsonMappingException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed person: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Every person as NDJSON. Rows are streamed from a database cursor straight
+	 * into the response on an async thread, nothing is collected into a List.
+	 */
+	@GetMapping(path = "/export", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> export() {
+		return ResponseEntity.ok().contentType(NDJSON).body(exportService::export);
+	}
+
+	private static ResponseStatusException notFound(long id) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "No person " + id);
+	}
+}
@@ -0,0 +1,12 @@
+package com.practice.practice.dto;
+
+/**
+ * Outcome of a bulk ingest: rows written and the sustained rate.
+ */
+public record IngestResult(long rows, long millis, double rowsPerSecond) {
+
+	public static IngestResult of(long rows, long nanos) {
+		double seconds = nanos / 1e9;
+		return new IngestResult(rows, nanos / 1_000_000, seconds > 0 ? rows / seconds : 0);
+	}
+}
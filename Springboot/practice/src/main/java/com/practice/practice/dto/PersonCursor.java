@@ -0,0 +1,81 @@
+package com.practice.practice.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Locale;
+
+import com.practice.practice.entity.Person;
+
+/**
+ * Position of a keyset page: the sort and the (name, id) of the last person on
+ * the previous page. The next page starts strictly after that key, so rows
+ * inserted or deleted before it never shift what comes next, unlike an
+ * offset.
+ *
+ * Clients only see the encoded form, URL safe Base64 of a version byte, the
+ * sort, the id and the name (null for ID order).
+ */
+public record PersonCursor(Sort sort, String name, long id) {
+
+	public enum Sort {
+		ID, NAME;
+
+		public static Sort parse(String value) {
+			try {
+				return valueOf(value.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown sort " + value + ", expected id or name");
+			}
+		}
+	}
+
+	private static final int VERSION = 1;
+
+	public static PersonCursor after(Sort sort, Person last) {
+		return new PersonCursor(sort, sort == Sort.NAME ? last.getName() : null, last.getId());
+	}
+
+	public String encode() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			out.writeByte(sort.ordinal());
+			out.writeLong(id);
+			out.writeBoolean(name != null);
+			if (name != null) {
+				out.writeUTF(name);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the cursor was not made by encode()
+	 */
+	public static PersonCursor decode(String cursor) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+			if (in.readByte() != VERSION) {
+				throw new IllegalArgumentException("Unsupported cursor version");
+			}
+			int sort = in.readByte();
+			if (sort < 0 || sort >= Sort.values().length) {
+				throw new IllegalArgumentException("Unknown sort in cursor");
+			}
+			long id = in.readLong();
+			String name = in.readBoolean() ? in.readUTF() : null;
+			if (in.read() != -1) {
+				throw new IllegalArgumentException("Trailing bytes in cursor");
+			}
+			return new PersonCursor(Sort.values()[sort], name, id);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Malformed cursor", e);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.practice.practice.dto;
+
+import com.practice.practice.entity.Address;
+import com.practice.practice.entity.Person;
+
+/**
+ * JSON shape of a Person, used for requests and responses. id is ignored on input.
+ */
+public record PersonDto(Long id, String name, int age, String phoneNo, AddressDto address) {
+
+	public record AddressDto(int doorNo, String street, String city, String state, String country) {
+
+		public static AddressDto of(Address address) {
+			return new AddressDto(address.getDoorNo(), address.getStreet(), address.getCity(), address.getState(),
+					address.getCountry());
+		}
+
+		public Address toEntity() {
+			return new Address(doorNo, street, city, state, country);
+		}
+	}
+
+	public static PersonDto of(Person person) {
+		Address address = person.getAddress();
+		return new PersonDto(person.getId(), person.getName(), person.getAge(), person.getPhoneNo(),
+				address == null ? null : AddressDto.of(address));
+	}
+
+	public Person toEntity() {
+		return new Person(name, age, address == null ? null : address.toEntity(), phoneNo);
+	}
+}
@@ -0,0 +1,10 @@
+package com.practice.practice.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. next is the cursor of the following page, null
+ * on the last one.
+ */
+public record PersonPage(List<PersonDto> items, String next) {
+}
@@ -0,0 +1,14 @@
+package com.practice.practice.dto;
+
+import com.practice.practice.config.VirtualThreads;
+
+/**
+ * A simulated query: how long it blocked and on which thread.
+ */
+public record SlowQuery(long millis, String thread, boolean virtual) {
+
+	public static SlowQuery onCurrentThread(long millis) {
+		Thread thread = Thread.currentThread();
+		return new SlowQuery(millis, thread.getName(), VirtualThreads.isVirtual(thread));
+	}
+}
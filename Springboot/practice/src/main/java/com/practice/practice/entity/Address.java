@@ -0,0 +1,92 @@
+package com.practice.practice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Address of a Person, same fields as collections.Util.Address.
+ *
+ * Ids come from a sequence with allocationSize 50 (pooled optimizer), so
+ * Hibernate hands out 50 ids per sequence call and can batch the inserts.
+ * IDENTITY would force one INSERT round trip per row to read the id back.
+ */
+@Entity
+@Table(name = "address")
+public class Address {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
+	@SequenceGenerator(name = "address_seq", sequenceName = "address_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "door_no")
+	private int doorNo;
+
+	private String street;
+
+	private String city;
+
+	private String state;
+
+	private String country;
+
+	protected Address() {
+	}
+
+	public Address(int doorNo, String street, String city, String state, String country) {
+		this.doorNo = doorNo;
+		this.street = street;
+		this.city = city;
+		this.state = state;
+		this.country = country;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public int getDoorNo() {
+		return doorNo;
+	}
+
+	public void setDoorNo(int doorNo) {
+		this.doorNo = doorNo;
+	}
+
+	public String getStreet() {
+		return street;
+	}
+
+	public void setStreet(String street) {
+		this.street = street;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+
+	public String getState() {
+		return state;
+	}
+
+	public void setState(String state) {
+		this.state = state;
+	}
+
+	public String getCountry() {
+		return country;
+	}
+
+	public void setCountry(String country) {
+		this.country = country;
+	}
+}
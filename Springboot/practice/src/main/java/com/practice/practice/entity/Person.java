@@ -0,0 +1,89 @@
+package com.practice.practice.entity;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Person, same fields as collections.Util.Person.
+ *
+ * Sequence ids with the pooled optimizer keep JDBC batching working, see Address.
+ * Every person owns its address, it is persisted and removed with the person
+ * and replaced ones are deleted. The (name, id) index
+ * serves the keyset listing ordered by name, see PersonRepository.
+ */
+@Entity
+@Table(name = "person", indexes = @Index(name = "person_name_id", columnList = "name, id"))
+public class Person {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+	@SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
+	private Long id;
+
+	private String name;
+
+	private int age;
+
+	@Column(name = "phone_no")
+	private String phoneNo;
+
+	@OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+	@JoinColumn(name = "address_id")
+	private Address address;
+
+	protected Person() {
+	}
+
+	public Person(String name, int age, Address address, String phoneNo) {
+		this.name = name;
+		this.age = age;
+		this.address = address;
+		this.phoneNo = phoneNo;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	public String getPhoneNo() {
+		return phoneNo;
+	}
+
+	public void setPhoneNo(String phoneNo) {
+		this.phoneNo = phoneNo;
+	}
+
+	public Address getAddress() {
+		return address;
+	}
+
+	public void setAddress(Address address) {
+		this.address = address;
+	}
+}
@@ -0,0 +1,162 @@
+package com.practice.practice.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size log-linear histogram of latencies in nanoseconds, the layout of
+ * HdrHistogram.
+ *
+ * Values below 2^SUB_BUCKET_BITS get a bucket each. Above that every power of
+ * two is split into 2^(SUB_BUCKET_BITS - 1) equal buckets, so a bucket is never
+ * wider than 1/64 of its values: percentiles are within 1.6% and the
+ * memory is about 64 longs per power of two, 19 KB up to one hour.
+ *
+ * record() is a single atomic increment of one bucket, no lock and no
+ * allocation, and any number of threads can record at once. Readers copy the
+ * buckets into a Snapshot. A copy taken while writers run may miss the
+ * increments that happen during the copy, they show up in the next one.
+ */
+public final class LatencyHistogram {
+
+	static final int SUB_BUCKET_BITS = 7;
+
+	static final int HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+	private final long highestTrackable;
+
+	private final AtomicLongArray counts;
+
+	/**
+	 * @param highestTrackableNanos larger values are counted as this value
+	 */
+	public LatencyHistogram(long highestTrackableNanos) {
+		if (highestTrackableNanos < 2 * HALF) {
+			throw new IllegalArgumentException("Highest trackable value too small: " + highestTrackableNanos);
+		}
+		this.highestTrackable = highestTrackableNanos;
+		this.counts = new AtomicLongArray(indexOf(highestTrackableNanos) + 1);
+	}
+
+	public void record(long nanos) {
+		counts.incrementAndGet(indexOf(Math.max(0, Math.min(nanos, highestTrackable))));
+	}
+
+	public long highestTrackable() {
+		return highestTrackable;
+	}
+
+	public Snapshot snapshot() {
+		long[] copy = new long[counts.length()];
+		for (int i = 0; i < copy.length; i++) {
+			copy[i] = counts.get(i);
+		}
+		return new Snapshot(copy);
+	}
+
+	// values below 2 * HALF are their own index, above the index is shift * HALF plus the top bits of the value
+	static int indexOf(long value) {
+		if (value < 2 * HALF) {
+			return (int) value;
+		}
+		int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (int) (shift * HALF + (value >>> shift));
+	}
+
+	static long lowestEquivalent(int index) {
+		if (index < 2 * HALF) {
+			return index;
+		}
+		int shift = index / HALF - 1;
+		return (long) (index - shift * HALF) << shift;
+	}
+
+	static long highestEquivalent(int index) {
+		if (index < 2 * HALF) {
+			return index;
+		}
+		return lowestEquivalent(index) + (1L << (index / HALF - 1)) - 1;
+	}
+
+	/**
+	 * Bucket counts at one point in time.
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+
+		private final long count;
+
+		Snapshot(long[] counts) {
+			this.counts = counts;
+			long total = 0;
+			for (long c : counts) {
+				total += c;
+			}
+			this.count = total;
+		}
+
+		public static Snapshot empty(LatencyHistogram like) {
+			return new Snapshot(new long[like.counts.length()]);
+		}
+
+		public long count() {
+			return count;
+		}
+
+		/**
+		 * What was recorded after earlier, a snapshot of the same histogram.
+		 */
+		public Snapshot minus(Snapshot earlier) {
+			long[] diff = new long[counts.length];
+			for (int i = 0; i < diff.length; i++) {
+				diff[i] = counts[i] - earlier.counts[i];
+			}
+			return new Snapshot(diff);
+		}
+
+		/**
+		 * The value below or at which percentile percent of the values fall, the
+		 * largest value of its bucket so it never under-reports. 0 when empty.
+		 */
+		public long valueAtPercentile(double percentile) {
+			if (percentile < 0 || percentile > 100) {
+				throw new IllegalArgumentException("Percentile must be in 0..100: " + percentile);
+			}
+			if (count == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					return highestEquivalent(i);
+				}
+			}
+			return highestEquivalent(counts.length - 1);
+		}
+
+		public long max() {
+			for (int i = counts.length - 1; i >= 0; i--) {
+				if (counts[i] != 0) {
+					return highestEquivalent(i);
+				}
+			}
+			return 0;
+		}
+
+		// bucket midpoints, within the bucket width of the true mean
+		public double mean() {
+			if (count == 0) {
+				return 0;
+			}
+			double sum = 0;
+			for (int i = 0; i < counts.length; i++) {
+				if (counts[i] != 0) {
+					sum += counts[i] * ((lowestEquivalent(i) + highestEquivalent(i)) / 2.0);
+				}
+			}
+			return sum / count;
+		}
+	}
+}
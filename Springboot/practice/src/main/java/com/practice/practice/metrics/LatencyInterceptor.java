@@ -0,0 +1,45 @@
+package com.practice.practice.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times every request by its URL template, e.g. "GET /persons/{id}".
+ *
+ * A request that goes async (the NDJSON export) is dispatched twice. The start
+ * time from the first dispatch is kept and afterCompletion of the second one
+ * records the whole response.
+ */
+@Component
+public class LatencyInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String START = LatencyInterceptor.class.getName() + ".start";
+
+	private final LatencyRegistry registry;
+
+	public LatencyInterceptor(LatencyRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getAttribute(START) == null) {
+			request.setAttribute(START, System.nanoTime());
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (request.getAttribute(START) instanceof Long start) {
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			registry.record(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"),
+					System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.practice.practice.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Named latency histograms, one per endpoint and repository method.
+ *
+ * The histograms only ever grow. An interval is the difference between the
+ * current counts and a baseline copy taken when the interval began, so
+ * starting a new interval never touches what the writers write to: recording
+ * stays a map lookup plus one atomic increment. Reports and resets serialize
+ * among themselves.
+ *
+ * Names must come from a bounded set, URL templates and method names, never
+ * raw paths: each one keeps its histogram for the life of the application.
+ */
+@Component
+public class LatencyRegistry {
+
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	private final long highestTrackableNanos;
+
+	// guarded by this
+	private Instant intervalStart = Instant.now();
+
+	private long intervalStartNanos = System.nanoTime();
+
+	public LatencyRegistry(@Value("${practice.metrics.latency.highest-trackable:1h}") Duration highestTrackable) {
+		this.highestTrackableNanos = highestTrackable.toNanos();
+	}
+
+	public void record(String name, long nanos) {
+		histogram(name).record(nanos);
+	}
+
+	public LatencyHistogram histogram(String name) {
+		// get first, computeIfAbsent may lock the bin even when the key is there
+		Timer timer = timers.get(name);
+		if (timer == null) {
+			timer = timers.computeIfAbsent(name, n -> new Timer(new LatencyHistogram(highestTrackableNanos)));
+		}
+		return timer.histogram;
+	}
+
+	/**
+	 * Latencies since the interval began. With reset the next interval starts
+	 * now, so successive resetting reads give p99 and p999 over time.
+	 */
+	public synchronized LatencyReport report(boolean reset) {
+		Instant now = Instant.now();
+		long nowNanos = System.nanoTime();
+		double seconds = (nowNanos - intervalStartNanos) / 1e9;
+		List<LatencyStats> stats = new ArrayList<>(timers.size());
+		timers.forEach((name, timer) -> {
+			LatencyHistogram.Snapshot current = timer.histogram.snapshot();
+			LatencyHistogram.Snapshot interval = current.minus(timer.baseline);
+			if (reset) {
+				timer.baseline = current;
+			}
+			if (interval.count() > 0) {
+				stats.add(LatencyStats.of(name, interval, seconds));
+			}
+		});
+		stats.sort(Comparator.comparingLong(LatencyStats::count).reversed().thenComparing(LatencyStats::name));
+		LatencyReport report = new LatencyReport(intervalStart, now, seconds, stats);
+		if (reset) {
+			intervalStart = now;
+			intervalStartNanos = nowNanos;
+		}
+		return report;
+	}
+
+	private static final class Timer {
+
+		final LatencyHistogram histogram;
+
+		// guarded by the registry
+		LatencyHistogram.Snapshot baseline;
+
+		Timer(LatencyHistogram histogram) {
+			this.histogram = histogram;
+			this.baseline = LatencyHistogram.Snapshot.empty(histogram);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.practice.practice.metrics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Every timer's latency between from and to, busiest first.
+ */
+public record LatencyReport(Instant from, Instant to, double seconds, List<LatencyStats> timers) {
+}
@@ -0,0 +1,20 @@
+package com.practice.practice.metrics;
+
+/**
+ * Latency of one endpoint or repository method over an interval, in
+ * milliseconds.
+ */
+public record LatencyStats(String name, long count, double perSecond, double meanMs, double p50Ms, double p90Ms,
+		double p99Ms, double p999Ms, double maxMs) {
+
+	static LatencyStats of(String name, LatencyHistogram.Snapshot interval, double seconds) {
+		return new LatencyStats(name, interval.count(), seconds > 0 ? interval.count() / seconds : 0,
+				millis(interval.mean()), millis(interval.valueAtPercentile(50)), millis(interval.valueAtPercentile(90)),
+				millis(interval.valueAtPercentile(99)), millis(interval.valueAtPercentile(99.9)),
+				millis(interval.max()));
+	}
+
+	private static double millis(double nanos) {
+		return Math.round(nanos / 1e3) / 1e3;
+	}
+}
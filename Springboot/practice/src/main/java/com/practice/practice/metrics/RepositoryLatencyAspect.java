@@ -0,0 +1,68 @@
+package com.practice.practice.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call on a Spring Data repository, named after the repository
+ * interface and the method, e.g. "PersonRepository.findById". A method that
+ * returns a Stream is timed until the stream is returned, not until it is
+ * consumed.
+ */
+@Aspect
+@Component
+public class RepositoryLatencyAspect {
+
+	private final LatencyRegistry registry;
+
+	// inherited methods such as findAll are declared once for every repository, the key needs the proxy class
+	private final Map<Class<?>, Map<Method, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+	public RepositoryLatencyAspect(LatencyRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object time(ProceedingJoinPoint call) throws Throwable {
+		LatencyHistogram histogram = histogram(call);
+		long start = System.nanoTime();
+		try {
+			return call.proceed();
+		} finally {
+			histogram.record(System.nanoTime() - start);
+		}
+	}
+
+	private LatencyHistogram histogram(ProceedingJoinPoint call) {
+		Object repository = call.getThis();
+		Method method = ((MethodSignature) call.getSignature()).getMethod();
+		Map<Method, LatencyHistogram> byMethod = histograms.get(repository.getClass());
+		if (byMethod == null) {
+			byMethod = histograms.computeIfAbsent(repository.getClass(), c -> new ConcurrentHashMap<>());
+		}
+		LatencyHistogram histogram = byMethod.get(method);
+		if (histogram == null) {
+			histogram = byMethod.computeIfAbsent(method,
+					m -> registry.histogram(name(repository) + "." + m.getName()));
+		}
+		return histogram;
+	}
+
+	private static String name(Object repository) {
+		for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+			if (Repository.class.isAssignableFrom(type)) {
+				return type.getSimpleName();
+			}
+		}
+		return repository.getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,9 @@
+package com.practice.practice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.practice.practice.entity.Address;
+
+// addresses are written through the person cascade, this is for reads and cleanup
+public interface AddressRepository extends JpaRepository<Address, Long> {
+}
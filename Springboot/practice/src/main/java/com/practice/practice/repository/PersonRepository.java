@@ -0,0 +1,67 @@
+package com.practice.practice.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.practice.practice.entity.Person;
+
+import jakarta.persistence.QueryHint;
+
+public interface PersonRepository extends JpaRepository<Person, Long> {
+
+	// the address is lazy and there is no open session in the view, fetch it with the person
+	@Override
+	@EntityGraph(attributePaths = "address")
+	Optional<Person> findById(Long id);
+
+	// forward only cursor over every person, must be consumed and closed inside a transaction
+	@Query("select p from Person p left join fetch p.address order by p.id")
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+	Stream<Person> streamAll();
+
+	/*
+	 * Keyset pages, the Pageable only carries the page size and must be page 0.
+	 *
+	 * Every order ends with the unique id, so it is total and a (name, id) key
+	 * names exactly one position. Null names sort first in ascending order on
+	 * both MySQL and H2.
+	 *
+	 * The seeks keep a plain range predicate on the leading column, p.name >= :name,
+	 * next to the exact condition, so the database starts a range scan of the
+	 * person_name_id index at the key instead of filtering the index from its
+	 * start. The cost of a page is then the page size, wherever it is.
+	 */
+
+	@Query("select p from Person p left join fetch p.address order by p.id")
+	List<Person> orderById(Pageable page);
+
+	@Query("select p from Person p left join fetch p.address where p.id > :id order by p.id")
+	List<Person> orderByIdAfter(long id, Pageable page);
+
+	// with a page number this is offset pagination, it reads and discards every skipped row
+	@Query("select p from Person p left join fetch p.address order by p.name, p.id")
+	List<Person> orderByName(Pageable page);
+
+	@Query("""
+			select p from Person p left join fetch p.address
+			where p.name >= :name and (p.name > :name or p.id > :id)
+			order by p.name, p.id""")
+	List<Person> orderByNameAfter(String name, long id, Pageable page);
+
+	// after a null name: the remaining null names, then everything else
+	@Query("""
+			select p from Person p left join fetch p.address
+			where (p.name is null and p.id > :id) or p.name is not null
+			order by p.name, p.id""")
+	List<Person> orderByNameAfterNull(long id, Pageable page);
+}
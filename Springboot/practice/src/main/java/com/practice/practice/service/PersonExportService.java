@@ -0,0 +1,85 @@
+package com.practice.practice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.entity.Person;
+import com.practice.practice.repository.PersonRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes every person as NDJSON, one JSON object per line.
+ *
+ * Rows come from a forward only cursor (a JPA Stream with a fetch size), each
+ * person and its address are detached as soon as their line is written, so
+ * neither the result set nor the persistence context is ever held in memory.
+ * Memory is the same for 10k rows or 50M.
+ */
+@Service
+public class PersonExportService {
+
+	private static final Logger log = LoggerFactory.getLogger(PersonExportService.class);
+
+	// lines between two flushes of the output
+	static final int FLUSH_EVERY = 1000;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final PersonRepository repository;
+
+	private final ObjectWriter writer;
+
+	public PersonExportService(PersonRepository repository, ObjectMapper mapper) {
+		this.repository = repository;
+		this.writer = mapper.writerFor(PersonDto.class).withRootValueSeparator("\n")
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	// returns the number of persons written, out is flushed but not closed
+	@Transactional(readOnly = true)
+	public long export(OutputStream out) throws IOException {
+		long start = System.nanoTime();
+		long count = 0;
+		try (Stream<Person> persons = repository.streamAll(); SequenceWriter lines = writer.writeValues(out)) {
+			Iterator<Person> it = persons.iterator();
+			while (it.hasNext()) {
+				Person person = it.next();
+				lines.write(PersonDto.of(person));
+				detach(person);
+				if (++count % FLUSH_EVERY == 0) {
+					lines.flush();
+				}
+			}
+			lines.flush();
+			if (count > 0) {
+				// the separator goes between values, end the last line too
+				out.write('\n');
+			}
+		}
+		out.flush();
+		log.info("Exported {} persons in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+		return count;
+	}
+
+	private void detach(Person person) {
+		if (person.getAddress() != null) {
+			entityManager.detach(person.getAddress());
+		}
+		entityManager.detach(person);
+	}
+}
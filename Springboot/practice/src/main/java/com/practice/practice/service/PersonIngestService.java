@@ -0,0 +1,67 @@
+package com.practice.practice.service;
+
+import java.util.Iterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.practice.practice.dto.IngestResult;
+import com.practice.practice.dto.PersonDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes a stream of persons in JDBC batches.
+ *
+ * Every batchSize rows the persistence context is flushed, which sends the
+ * pending INSERTs as one JDBC batch per table, and cleared, so the managed
+ * entities do not pile up and memory stays flat however many rows arrive.
+ * batchSize follows hibernate.jdbc.batch_size, a smaller flush would send
+ * half empty batches.
+ *
+ * The whole ingest is one transaction, all rows or none.
+ */
+@Service
+public class PersonIngestService {
+
+	private static final Logger log = LoggerFactory.getLogger(PersonIngestService.class);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final int batchSize;
+
+	public PersonIngestService(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	@Transactional
+	public IngestResult ingest(Iterator<PersonDto> rows) {
+		long start = System.nanoTime();
+		long count = 0;
+		while (rows.hasNext()) {
+			entityManager.persist(rows.next().toEntity());
+			if (++count % batchSize == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+		IngestResult result = IngestResult.of(count, System.nanoTime() - start);
+		log.info("Ingested {} persons in {} ms, {} rows/s", result.rows(), result.millis(),
+				Math.round(result.rowsPerSecond()));
+		return result;
+	}
+
+	public int batchSize() {
+		return batchSize;
+	}
+}
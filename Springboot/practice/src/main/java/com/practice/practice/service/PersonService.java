@@ -0,0 +1,122 @@
+package com.practice.practice.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.practice.practice.cache.BoundedCache;
+import com.practice.practice.dto.PersonCursor;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.dto.PersonPage;
+import com.practice.practice.entity.Address;
+import com.practice.practice.entity.Person;
+import com.practice.practice.repository.PersonRepository;
+
+/**
+ * Person lookups by id through the read-through cache, and the writes that
+ * invalidate it.
+ *
+ * A write drops the cached entry when its transaction commits: dropping it
+ * earlier would let a concurrent reader load the old row again before the
+ * commit and cache it. The cache also ignores the result of any load that was
+ * running when the entry was dropped.
+ *
+ * Listings page by keyset, see PersonCursor. They bypass the cache.
+ */
+@Service
+public class PersonService {
+
+	private final PersonRepository repository;
+
+	private final BoundedCache<Long, PersonDto> cache;
+
+	public PersonService(PersonRepository repository, BoundedCache<Long, PersonDto> cache) {
+		this.repository = repository;
+		this.cache = cache;
+	}
+
+	public Optional<PersonDto> find(long id) {
+		return Optional.ofNullable(cache.get(id, key -> repository.findById(key).map(PersonDto::of).orElse(null)));
+	}
+
+	@Transactional
+	public Optional<PersonDto> update(long id, PersonDto changes) {
+		Optional<Person> found = repository.findById(id);
+		found.ifPresent(person -> {
+			person.setName(changes.name());
+			person.setAge(changes.age());
+			person.setPhoneNo(changes.phoneNo());
+			if (changes.address() != null) {
+				Address address = person.getAddress();
+				if (address == null) {
+					person.setAddress(changes.address().toEntity());
+				} else {
+					address.setDoorNo(changes.address().doorNo());
+					address.setStreet(changes.address().street());
+					address.setCity(changes.address().city());
+					address.setState(changes.address().state());
+					address.setCountry(changes.address().country());
+				}
+			}
+			invalidateAfterCommit(id);
+		});
+		return found.map(PersonDto::of);
+	}
+
+	@Transactional
+	public boolean delete(long id) {
+		if (!repository.existsById(id)) {
+			return false;
+		}
+		repository.deleteById(id);
+		invalidateAfterCommit(id);
+		return true;
+	}
+
+	/**
+	 * The page of up to size persons in sort order that follows cursor, or the
+	 * first page when cursor is null.
+	 *
+	 * @throws IllegalArgumentException if the cursor belongs to another sort
+	 */
+	@Transactional(readOnly = true)
+	public PersonPage list(PersonCursor.Sort sort, int size, PersonCursor cursor) {
+		if (cursor != null && cursor.sort() != sort) {
+			throw new IllegalArgumentException("Cursor is for sort " + cursor.sort() + ", not " + sort);
+		}
+		// one row more than asked tells whether there is a next page without a count query
+		PageRequest limit = PageRequest.ofSize(size + 1);
+		List<Person> rows;
+		if (sort == PersonCursor.Sort.ID) {
+			rows = cursor == null ? repository.orderById(limit) : repository.orderByIdAfter(cursor.id(), limit);
+		} else if (cursor == null) {
+			rows = repository.orderByName(limit);
+		} else if (cursor.name() == null) {
+			rows = repository.orderByNameAfterNull(cursor.id(), limit);
+		} else {
+			rows = repository.orderByNameAfter(cursor.name(), cursor.id(), limit);
+		}
+		boolean more = rows.size() > size;
+		List<Person> page = more ? rows.subList(0, size) : rows;
+		String next = more ? PersonCursor.after(sort, page.get(size - 1)).encode() : null;
+		return new PersonPage(page.stream().map(PersonDto::of).toList(), next);
+	}
+
+	public BoundedCache<Long, PersonDto> cache() {
+		return cache;
+	}
+
+	private void invalidateAfterCommit(long id) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				cache.invalidate(id);
+			}
+		});
+	}
+}
@@ -0,0 +1,51 @@
+package com.practice.practice.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.practice.practice.dto.SlowQuery;
+
+/**
+ * Stand-in for a slow local database: every query blocks the calling thread
+ * for a fixed latency, the way a JDBC call waiting on the server does. Used to
+ * compare the thread modes of {@link com.practice.practice.config.ThreadingConfig}
+ * without a real database in the way.
+ */
+@Service
+public class SlowDatabase {
+
+	private final Duration latency;
+
+	public SlowDatabase(@Value("${practice.slow-db.latency:50ms}") Duration latency) {
+		if (latency.isNegative()) {
+			throw new IllegalArgumentException("Latency must not be negative: " + latency);
+		}
+		this.latency = latency;
+	}
+
+	/**
+	 * Blocks for the configured latency, or for millis when it is not negative.
+	 */
+	public SlowQuery query(long millis) {
+		long wait = millis < 0 ? latency.toMillis() : millis;
+		try {
+			Thread.sleep(wait);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while querying", e);
+		}
+		return SlowQuery.onCurrentThread(wait);
+	}
+
+	/**
+	 * The same query on the application task executor.
+	 */
+	@Async
+	public CompletableFuture<SlowQuery> queryAsync(long millis) {
+		return CompletableFuture.completedFuture(query(millis));
+	}
+}
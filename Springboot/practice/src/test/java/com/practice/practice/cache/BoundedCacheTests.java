@@ -0,0 +1,180 @@
+package com.practice.practice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTests {
+
+	@Test
+	void lruEvictsTheLeastRecentlyUsed() {
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder()
+				.policy(BoundedCache.Policy.LRU).maximumSize(3).build();
+		cache.put(1, "a");
+		cache.put(2, "b");
+		cache.put(3, "c");
+		cache.getIfPresent(1);
+		cache.put(4, "d");
+
+		assertThat(cache.getIfPresent(2)).isNull();
+		assertThat(cache.getIfPresent(1)).isEqualTo("a");
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.stats().evictions()).isEqualTo(1);
+	}
+
+	@Test
+	void weightBoundHolds() {
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder()
+				.policy(BoundedCache.Policy.LRU).maximumWeight(100, String::length).build();
+		for (int i = 0; i < 50; i++) {
+			cache.put(i, "x".repeat(1 + i % 30));
+			assertThat(cache.weight()).isLessThanOrEqualTo(100);
+		}
+		cache.put(99, "x".repeat(101));
+		assertThat(cache.getIfPresent(99)).isNull();
+	}
+
+	@Test
+	void tinyLfuKeepsHotEntriesThroughAScan() {
+		double tinyLfu = hotHitRate(BoundedCache.Policy.TINY_LFU, 100, Long.MAX_VALUE);
+		double lru = hotHitRate(BoundedCache.Policy.LRU, 100, Long.MAX_VALUE);
+
+		assertThat(tinyLfu).isGreaterThan(0.9);
+		assertThat(lru).isLessThan(0.1);
+	}
+
+	// both bounds set as in CacheConfig, the segments must follow the one that binds
+	@Test
+	void tinyLfuKeepsHotEntriesWhenTheCountBinds() {
+		assertThat(hotHitRate(BoundedCache.Policy.TINY_LFU, 100, 1_000_000)).isGreaterThan(0.9);
+	}
+
+	@Test
+	void tinyLfuKeepsHotEntriesWhenTheWeightBinds() {
+		assertThat(hotHitRate(BoundedCache.Policy.TINY_LFU, 10_000, 100 * ENTRY_WEIGHT)).isGreaterThan(0.9);
+	}
+
+	@Test
+	void tinyLfuNeedsAnEntryCount() {
+		assertThatThrownBy(() -> BoundedCache.<Integer, String>builder().maximumWeight(100, String::length).build())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static final long ENTRY_WEIGHT = 10;
+
+	// 50 hot keys asked for between the keys of a long one-off scan, hit rate of the hot keys
+	private static double hotHitRate(BoundedCache.Policy policy, long maximumSize, long maximumWeight) {
+		BoundedCache.Builder<Integer, Integer> builder = BoundedCache.<Integer, Integer>builder().policy(policy)
+				.maximumSize(maximumSize);
+		if (maximumWeight != Long.MAX_VALUE) {
+			builder.maximumWeight(maximumWeight, v -> ENTRY_WEIGHT);
+		}
+		BoundedCache<Integer, Integer> cache = builder.build();
+		int hotRequests = 0;
+		int hotHits = 0;
+		for (int cold = 0; cold < 50_000; cold++) {
+			cache.get(1_000_000 + cold, k -> k);
+			if (cold % 10 == 0) {
+				int hot = cold / 10 % 50;
+				hotRequests++;
+				if (cache.getIfPresent(hot) != null) {
+					hotHits++;
+				} else {
+					cache.put(hot, hot);
+				}
+			}
+			assertThat(cache.size()).isLessThanOrEqualTo(Math.min(maximumSize, maximumWeight / ENTRY_WEIGHT));
+		}
+		return (double) hotHits / hotRequests;
+	}
+
+	@Test
+	void entriesExpireAfterTtl() {
+		AtomicLong now = new AtomicLong();
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder().maximumSize(10)
+				.expireAfterWrite(Duration.ofSeconds(5)).ticker(now::get).build();
+		cache.put(1, "a");
+		now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+		assertThat(cache.getIfPresent(1)).isEqualTo("a");
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThat(cache.getIfPresent(1)).isNull();
+		assertThat(cache.stats().expirations()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder().maximumSize(10).build();
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(pool.submit(() -> cache.get(7, k -> {
+					loads.incrementAndGet();
+					await(release);
+					return "seven";
+				})));
+			}
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("seven");
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.stats().loads()).isEqualTo(1);
+	}
+
+	@Test
+	void invalidateDuringLoadDiscardsTheLoadedValue() throws Exception {
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder().maximumSize(10).build();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread reader = new Thread(() -> cache.get(1, k -> {
+			loading.countDown();
+			await(release);
+			return "old";
+		}));
+		reader.start();
+		loading.await();
+		cache.invalidate(1);
+		release.countDown();
+		reader.join();
+
+		assertThat(cache.getIfPresent(1)).isNull();
+		assertThat(cache.get(1, k -> "new")).isEqualTo("new");
+	}
+
+	@Test
+	void failedLoadIsNotCachedAndReachesTheCaller() {
+		BoundedCache<Integer, String> cache = BoundedCache.<Integer, String>builder().maximumSize(10).build();
+		assertThatThrownBy(() -> cache.get(1, k -> {
+			throw new IllegalStateException("database down");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.get(1, k -> "up")).isEqualTo("up");
+		assertThat(cache.stats().loadFailures()).isEqualTo(1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
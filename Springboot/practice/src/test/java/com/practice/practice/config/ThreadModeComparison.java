@@ -0,0 +1,133 @@
+package com.practice.practice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.practice.practice.PracticeApplication;
+
+/**
+ * Platform against virtual request threads under a load that blocks on the
+ * simulated slow database. Starts the application once per mode on a random
+ * port and keeps compare.concurrency requests to /load/query in flight until
+ * compare.requests have completed, then prints latency percentiles and
+ * throughput.
+ *
+ * Too slow for every build, run it on demand with a Java 21 JDK (on 17 only
+ * the platform row is measured):
+ *
+ *   JAVA_HOME=/path/to/jdk-21 ./mvnw test -Dtest=ThreadModeComparison -Dcompare=true
+ *
+ * Optional: -Dcompare.requests=10000 -Dcompare.concurrency=1000
+ * -Dcompare.latency=100 -Dcompare.tomcat-threads=200
+ */
+@EnabledIfSystemProperty(named = "compare", matches = "true")
+class ThreadModeComparison {
+
+	private static final int REQUESTS = Integer.getInteger("compare.requests", 10_000);
+
+	private static final int CONCURRENCY = Integer.getInteger("compare.concurrency", 1000);
+
+	private static final int LATENCY_MILLIS = Integer.getInteger("compare.latency", 100);
+
+	private static final int TOMCAT_THREADS = Integer.getInteger("compare.tomcat-threads", 200);
+
+	record Result(String mode, int requests, int failures, long p50, long p99, long max, double perSecond) {
+
+		@Override
+		public String toString() {
+			return String.format("%-9s %9d %9d %9.1f %9.1f %9.1f %11.0f", mode, requests, failures, p50 / 1e6,
+					p99 / 1e6, max / 1e6, perSecond);
+		}
+	}
+
+	@Test
+	void compare() throws Exception {
+		List<Result> results = new ArrayList<>();
+		results.add(run("platform"));
+		if (VirtualThreads.supported()) {
+			results.add(run("virtual"));
+		}
+
+		System.out.printf("%n%d requests, %d in flight, %d ms per query, %d Tomcat threads, %d cpus, Java %s%n",
+				REQUESTS, CONCURRENCY, LATENCY_MILLIS, TOMCAT_THREADS, Runtime.getRuntime().availableProcessors(),
+				Runtime.version());
+		System.out.printf("%-9s %9s %9s %9s %9s %9s %11s%n", "mode", "requests", "failures", "p50 ms", "p99 ms",
+				"max ms", "requests/s");
+		results.forEach(System.out::println);
+		if (!VirtualThreads.supported()) {
+			System.out.println("virtual   skipped, needs Java 21");
+		}
+		assertThat(results).allSatisfy(result -> assertThat(result.failures()).isZero());
+	}
+
+	private static Result run(String mode) throws InterruptedException {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PracticeApplication.class)
+				.profiles("test")
+				// arguments, default properties would lose to application.properties
+				.run("--server.port=0", "--practice.load.enabled=true", "--practice.threads.mode=" + mode,
+						"--server.tomcat.threads.max=" + TOMCAT_THREADS, "--logging.level.root=WARN")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + "/load/query?millis=" + LATENCY_MILLIS);
+			HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+			// opens the connections and lets the JIT settle before anything is measured
+			load(client, uri, Math.min(REQUESTS, 2 * CONCURRENCY));
+			long start = System.nanoTime();
+			long[] latencies = new long[REQUESTS];
+			int failures = load(client, uri, latencies);
+			long elapsed = System.nanoTime() - start;
+
+			Arrays.sort(latencies);
+			return new Result(mode, REQUESTS, failures, percentile(latencies, 0.50), percentile(latencies, 0.99),
+					latencies[latencies.length - 1], REQUESTS / (elapsed / 1e9));
+		}
+	}
+
+	private static int load(HttpClient client, URI uri, int requests) throws InterruptedException {
+		return load(client, uri, new long[requests]);
+	}
+
+	// keeps CONCURRENCY requests in flight, latencies[i] is the round trip of request i
+	private static int load(HttpClient client, URI uri, long[] latencies) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		CountDownLatch done = new CountDownLatch(latencies.length);
+		AtomicInteger failures = new AtomicInteger();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(1)).build();
+		for (int i = 0; i < latencies.length; i++) {
+			inFlight.acquire();
+			int index = i;
+			long sent = System.nanoTime();
+			client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+				latencies[index] = System.nanoTime() - sent;
+				if (error != null || response.statusCode() != 200) {
+					failures.incrementAndGet();
+				}
+				inFlight.release();
+				done.countDown();
+			});
+		}
+		done.await();
+		return failures.get();
+	}
+
+	private static long percentile(long[] sorted, double p) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+	}
+}
@@ -0,0 +1,60 @@
+package com.practice.practice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.practice.practice.dto.SlowQuery;
+
+// a real Tomcat, MockMvc would run the request on the test thread
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"practice.threads.mode=virtual", "practice.load.enabled=true" })
+@ActiveProfiles("test")
+class ThreadModeTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Test
+	void requestsRunOnVirtualThreadsWhenTheJvmHasThem() {
+		SlowQuery query = rest.getForObject("/load/query?millis=1", SlowQuery.class);
+
+		assertThat(query.millis()).isEqualTo(1);
+		assertThat(query.virtual()).isEqualTo(VirtualThreads.supported());
+		if (VirtualThreads.supported()) {
+			assertThat(query.thread()).startsWith("http-vt-");
+		}
+	}
+
+	@Test
+	void asyncWorkRunsOnVirtualThreadsWhenTheJvmHasThem() {
+		List<SlowQuery> queries = rest.exchange("/load/fanout?calls=20&millis=1", HttpMethod.GET, null,
+				new ParameterizedTypeReference<List<SlowQuery>>() {
+				}).getBody();
+
+		assertThat(queries).hasSize(20).allSatisfy(query -> {
+			assertThat(query.virtual()).isEqualTo(VirtualThreads.supported());
+			assertThat(query.thread()).startsWith(VirtualThreads.supported() ? "task-vt-" : "task-");
+		});
+	}
+
+	@Test
+	void waitsLongerThanTheCapAreRejected() {
+		assertThat(rest.getForEntity("/load/query?millis=86400000", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(rest.getForEntity("/load/fanout?calls=2&millis=10001", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(rest.getForEntity("/load/query?millis=-2", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+}
@@ -0,0 +1,62 @@
+package com.practice.practice.controller;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.practice.practice.repository.AddressRepository;
+import com.practice.practice.repository.PersonRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsControllerTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PersonRepository repository;
+
+	@Autowired
+	private AddressRepository addresses;
+
+	@BeforeEach
+	void reset() throws Exception {
+		repository.deleteAllInBatch();
+		addresses.deleteAllInBatch();
+		mvc.perform(get("/metrics/latency").param("reset", "true")).andExpect(status().isOk());
+	}
+
+	@Test
+	void endpointsAndRepositoryMethodsAreTimedPerInterval() throws Exception {
+		mvc.perform(post("/persons/bulk").contentType("application/x-ndjson")
+				.content("{\"name\": \"Asha\", \"age\": 30, \"phoneNo\": \"7892377483\"}")).andExpect(status().isOk());
+		long id = repository.findAll().get(0).getId();
+		for (int i = 0; i < 20; i++) {
+			mvc.perform(get("/persons/{id}", id + 1000 + i)).andExpect(status().isNotFound());
+		}
+
+		mvc.perform(get("/metrics/latency").param("reset", "true")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.timers[?(@.name == 'GET /persons/{id}')].count").value(hasItem(20)))
+				.andExpect(jsonPath("$.timers[?(@.name == 'POST /persons/bulk')].count").value(hasItem(1)))
+				.andExpect(jsonPath("$.timers[?(@.name == 'PersonRepository.findById')].count").value(hasItem(20)))
+				.andExpect(jsonPath("$.timers[?(@.name == 'GET /persons/{id}')].p999Ms").value(not(empty())))
+				.andExpect(jsonPath("$.timers[?(@.name =~ /.*metrics.*/)]").isEmpty());
+
+		// the reset started a new, empty interval
+		mvc.perform(get("/metrics/latency")).andExpect(jsonPath("$.timers").isEmpty());
+	}
+}
@@ -0,0 +1,162 @@
+package com.practice.practice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.practice.practice.dto.IngestResult;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.repository.AddressRepository;
+import com.practice.practice.repository.PersonRepository;
+import com.practice.practice.service.PersonIngestService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonControllerTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PersonRepository repository;
+
+	@Autowired
+	private AddressRepository addresses;
+
+	@Autowired
+	private PersonIngestService ingestService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void reset() {
+		repository.deleteAllInBatch();
+		addresses.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void bulkNdjsonIsWrittenInBatches() throws Exception {
+		int rows = 2_000;
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < rows; i++) {
+			body.append(json(i)).append('\n');
+		}
+
+		mvc.perform(post("/persons/bulk").contentType("application/x-ndjson").content(body.toString()))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.rows").value(rows));
+
+		// per table one INSERT per batch of 50 and one sequence call per 50 ids, not one of each per row.
+		// ids left over in the pooled optimizer from an earlier test can cost one more call per table
+		long inserts = 2 * rows / 50, sequenceCalls = 2 * rows / 50;
+		assertThat(statistics.getPrepareStatementCount()).isBetween(inserts + sequenceCalls, inserts + sequenceCalls + 2);
+		assertThat(repository.count()).isEqualTo(rows);
+	}
+
+	@Test
+	void bulkAcceptsJsonArray() throws Exception {
+		String body = "[" + json(1) + "," + json(2) + "]";
+
+		mvc.perform(post("/persons/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.rows").value(2));
+
+		Long id = repository.findAll().get(0).getId();
+		mvc.perform(get("/persons/{id}", id)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.address.city").value("Bangalore"));
+	}
+
+	@Test
+	void malformedBodyIsRejectedAndNothingIsWritten() throws Exception {
+		String body = json(1) + "\n{\"name\": \"broken\", \"age\": \"not a number\"}\n";
+
+		mvc.perform(post("/persons/bulk").contentType("application/x-ndjson").content(body))
+				.andExpect(status().isBadRequest());
+
+		assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	void updateInvalidatesTheCachedPerson() throws Exception {
+		mvc.perform(post("/persons/bulk").contentType("application/x-ndjson").content(json(1)))
+				.andExpect(status().isOk());
+		Long id = repository.findAll().get(0).getId();
+		mvc.perform(get("/persons/{id}", id)).andExpect(jsonPath("$.name").value("Person 1"));
+
+		mvc.perform(put("/persons/{id}", id).contentType(MediaType.APPLICATION_JSON).content(json(2)))
+				.andExpect(status().isOk());
+		mvc.perform(get("/persons/{id}", id)).andExpect(jsonPath("$.name").value("Person 2"));
+
+		mvc.perform(delete("/persons/{id}", id)).andExpect(status().isNoContent());
+		mvc.perform(get("/persons/{id}", id)).andExpect(status().isNotFound());
+		mvc.perform(get("/persons/cache/stats")).andExpect(jsonPath("$.hits").isNumber());
+	}
+
+	@Test
+	void deleteRemovesTheAddress() throws Exception {
+		mvc.perform(post("/persons/bulk").contentType("application/x-ndjson").content(json(1) + "\n" + json(2)))
+				.andExpect(status().isOk());
+		assertThat(addresses.count()).isEqualTo(2);
+
+		mvc.perform(delete("/persons/{id}", repository.findAll().get(0).getId())).andExpect(status().isNoContent());
+
+		assertThat(repository.count()).isEqualTo(1);
+		assertThat(addresses.count()).isEqualTo(1);
+	}
+
+	@Test
+	void missingPersonIsNotFound() throws Exception {
+		mvc.perform(get("/persons/{id}", 123456)).andExpect(status().isNotFound());
+	}
+
+	// prints the rate, too slow for every build, run with -Dcompare=true
+	@Test
+	@EnabledIfSystemProperty(named = "compare", matches = "true")
+	void sustainedIngestRate() {
+		int rows = 50_000;
+		Iterator<PersonDto> source = IntStream.range(0, rows).mapToObj(PersonControllerTests::person).iterator();
+
+		IngestResult result = ingestService.ingest(source);
+
+		System.out.printf("ingested %d rows in %d ms, %.0f rows/s (batch size %d)%n", result.rows(), result.millis(),
+				result.rowsPerSecond(), ingestService.batchSize());
+		assertThat(result.rows()).isEqualTo(rows);
+		assertThat(repository.count()).isEqualTo(rows);
+	}
+
+	private static PersonDto person(int i) {
+		return new PersonDto(null, "Person " + i, 20 + i % 40, "78923774" + (i % 100),
+				new PersonDto.AddressDto(i % 500, "Street " + i % 97, "Bangalore", "Karnataka", "India"));
+	}
+
+	private static String json(int i) {
+		return "{\"name\": \"Person " + i + "\", \"age\": " + (20 + i % 40) + ", \"phoneNo\": \"7892377483\", "
+				+ "\"address\": {\"doorNo\": " + i + ", \"street\": \"Gandhi Nagar\", \"city\": \"Bangalore\", "
+				+ "\"state\": \"Karnataka\", \"country\": \"India\"}}";
+	}
+}
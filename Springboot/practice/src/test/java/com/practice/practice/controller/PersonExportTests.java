@@ -0,0 +1,124 @@
+package com.practice.practice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.IntStream;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.repository.AddressRepository;
+import com.practice.practice.repository.PersonRepository;
+import com.practice.practice.service.PersonExportService;
+import com.practice.practice.service.PersonIngestService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonExportTests {
+
+	private static final int ROWS = 20_000;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PersonRepository repository;
+
+	@Autowired
+	private AddressRepository addresses;
+
+	@Autowired
+	private PersonIngestService ingestService;
+
+	@Autowired
+	private PersonExportService exportService;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	// bound to the export's transaction while the export runs on this thread
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void load() {
+		repository.deleteAllInBatch();
+		addresses.deleteAllInBatch();
+		ingestService.ingest(IntStream.range(0, ROWS)
+				.mapToObj(i -> new PersonDto(null, "Person " + i, 20 + i % 40, "7892377483",
+						new PersonDto.AddressDto(i, "Gandhi Nagar", "Bangalore", "Karnataka", "India")))
+				.iterator());
+	}
+
+	@Test
+	void exportStreamsEveryRowWithoutGrowingThePersistenceContext() throws IOException {
+		LineCounter out = new LineCounter();
+
+		long exported = exportService.export(out);
+
+		assertThat(exported).isEqualTo(ROWS);
+		assertThat(out.lines).isEqualTo(ROWS);
+		// at most the person being written and its address are ever managed
+		assertThat(out.maxManaged).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void exportEndpointWritesNdjson() throws Exception {
+		MvcResult started = mvc.perform(get("/persons/export")).andExpect(request().asyncStarted()).andReturn();
+
+		String body = mvc.perform(asyncDispatch(started)).andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson")).andReturn().getResponse()
+				.getContentAsString();
+
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(ROWS);
+		assertThat(mapper.readValue(lines[0], PersonDto.class).address().city()).isEqualTo("Bangalore");
+		assertThat(body).endsWith("}\n");
+	}
+
+	// counts lines and samples the size of the persistence context while the export writes
+	private final class LineCounter extends OutputStream {
+		long lines;
+		int maxManaged;
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			for (int i = off; i < off + len; i++) {
+				write(b[i]);
+			}
+		}
+
+		@Override
+		public void flush() {
+			int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+			maxManaged = Math.max(maxManaged, managed);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package com.practice.practice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.practice.dto.PersonCursor;
+import com.practice.practice.dto.PersonDto;
+import com.practice.practice.dto.PersonPage;
+import com.practice.practice.entity.Person;
+import com.practice.practice.repository.AddressRepository;
+import com.practice.practice.repository.PersonRepository;
+import com.practice.practice.service.PersonIngestService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersonPaginationTests {
+
+	// rows H2 read from the first table of a plan, the person table
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private PersonRepository repository;
+
+	@Autowired
+	private AddressRepository addresses;
+
+	@Autowired
+	private PersonIngestService ingestService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void reset() {
+		repository.deleteAllInBatch();
+		addresses.deleteAllInBatch();
+	}
+
+	@Test
+	void pagesVisitEveryPersonOnceInOrder() throws Exception {
+		// repeated names and null names, the id has to break the ties
+		ingest(IntStream.range(0, 1_000).mapToObj(i -> person(i % 7 == 0 ? null : "P" + i % 300)).toList());
+		Comparator<Person> byName = Comparator.comparing(Person::getName,
+				Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+		List<Person> all = repository.findAll();
+
+		assertThat(ids(pageThrough("id", 37))).containsExactlyElementsOf(
+				ids(all.stream().sorted(Comparator.comparing(Person::getId)).toList()));
+		assertThat(ids(pageThrough("name", 37))).containsExactlyElementsOf(
+				ids(all.stream().sorted(byName.thenComparing(Person::getId)).toList()));
+	}
+
+	@Test
+	void insertsWhilePagingNeitherRepeatNorSkipExistingPersons() throws Exception {
+		ingest(IntStream.range(0, 500).mapToObj(i -> person("M" + i % 100)).toList());
+		Set<Long> existing = new HashSet<>(repository.findAll().stream().map(Person::getId).toList());
+
+		List<Long> seen = new ArrayList<>();
+		PersonPage page = page(get("/persons").param("sort", "name").param("size", "40"));
+		seen.addAll(ids(page.items()));
+		// new rows before, among and after the rows already returned
+		ingest(IntStream.range(0, 300).mapToObj(i -> person(new String[] { "A", "M" + i % 100, "Z" }[i % 3])).toList());
+		while (page.next() != null) {
+			page = page(get("/persons").param("sort", "name").param("size", "40").param("cursor", page.next()));
+			seen.addAll(ids(page.items()));
+		}
+
+		assertThat(seen).doesNotHaveDuplicates();
+		assertThat(seen).containsAll(existing);
+	}
+
+	@Test
+	void cursorRoundTrips() {
+		for (PersonCursor cursor : List.of(new PersonCursor(PersonCursor.Sort.NAME, "Zoë Ñ", 42),
+				new PersonCursor(PersonCursor.Sort.NAME, null, 7), new PersonCursor(PersonCursor.Sort.ID, null, -1))) {
+			assertThat(PersonCursor.decode(cursor.encode())).isEqualTo(cursor);
+		}
+	}
+
+	@Test
+	void badRequestsAreRejected() throws Exception {
+		ingest(IntStream.range(0, 10).mapToObj(i -> person("P" + i)).toList());
+		String byId = page(get("/persons").param("size", "3")).next();
+
+		mvc.perform(get("/persons").param("sort", "age")).andExpect(status().isBadRequest());
+		mvc.perform(get("/persons").param("size", "0")).andExpect(status().isBadRequest());
+		mvc.perform(get("/persons").param("cursor", "not a cursor")).andExpect(status().isBadRequest());
+		mvc.perform(get("/persons").param("cursor", byId.substring(0, 6))).andExpect(status().isBadRequest());
+		mvc.perform(get("/persons").param("sort", "name").param("cursor", byId)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void keysetPagesReadOnlyTheirOwnRows() {
+		int rows = 2_000, size = 50, from = rows - 2 * size;
+		ingest(IntStream.range(0, rows).mapToObj(i -> person("Person " + i)).toList());
+		Person last = repository.orderByName(PageRequest.of(from / size - 1, size)).get(size - 1);
+
+		jdbc.execute("SET QUERY_STATISTICS TRUE");
+		try {
+			repository.orderByNameAfter(last.getName(), last.getId(), PageRequest.ofSize(size));
+			repository.orderByName(PageRequest.of(from / size, size));
+
+			// a range scan of the index that starts at the cursor row and stops after one page
+			String keyset = explainAnalyze("where p1_0.name>=?", last.getName(), last.getName(), last.getId(), 0, size);
+			assertThat(keyset).contains("PUBLIC.PERSON_NAME_ID: NAME >= ?1", "index sorted");
+			assertThat(scanCount(keyset)).isEqualTo(1 + size);
+
+			// the same index in order, but every skipped row is read
+			String offset = explainAnalyze("address_id order by p1_0.name", from, size);
+			assertThat(offset).contains("PUBLIC.PERSON_NAME_ID", "index sorted");
+			assertThat(scanCount(offset)).isEqualTo(from + size);
+		} finally {
+			jdbc.execute("SET QUERY_STATISTICS FALSE");
+		}
+	}
+
+	// wall clock of offset against keyset pages, prints a table, run with -Dcompare=true
+	@Test
+	@EnabledIfSystemProperty(named = "compare", matches = "true")
+	void keysetPagesCostTheSameAtAnyDepth() {
+		int rows = 200_000, size = 50, pages = rows / size, walk = 20;
+		ingest(IntStream.range(0, rows).mapToObj(i -> person("Person " + i)).toList());
+		offsetMillis(0, walk, size);
+		keysetMillis(null, walk, size);
+
+		System.out.printf("%n%-8s %12s %12s%n", "page", "offset ms", "keyset ms");
+		int[] depths = { 0, pages / 4, pages / 2, pages - walk };
+		double[] offset = new double[depths.length], keyset = new double[depths.length];
+		for (int d = 0; d < depths.length; d++) {
+			int from = depths[d];
+			// the cursor a client holds after reading every page before this one
+			Person last = from == 0 ? null : repository.orderByName(PageRequest.of(from - 1, size)).get(size - 1);
+			if (last != null) {
+				assertThat(ids(repository.orderByNameAfter(last.getName(), last.getId(), PageRequest.ofSize(size))))
+						.isEqualTo(ids(repository.orderByName(PageRequest.of(from, size))));
+			}
+			offset[d] = offsetMillis(from, walk, size);
+			keyset[d] = keysetMillis(last, walk, size);
+			System.out.printf("%-8d %12.2f %12.2f%n", from, offset[d], keyset[d]);
+		}
+
+		// flat for keyset, the offset query reads every skipped row
+		assertThat(keyset[depths.length - 1]).isLessThan(3 * keyset[0] + 2);
+		assertThat(offset[depths.length - 1]).isGreaterThan(5 * keyset[depths.length - 1]);
+	}
+
+	// EXPLAIN ANALYZE of the SQL Hibernate generated, the only recorded statement containing marker
+	private String explainAnalyze(String marker, Object... parameters) {
+		List<String> statements = jdbc
+				.queryForList("select SQL_STATEMENT from INFORMATION_SCHEMA.QUERY_STATISTICS", String.class).stream()
+				.filter(sql -> sql.contains(marker)).toList();
+		assertThat(statements).hasSize(1);
+		return String.join("\n", jdbc.queryForList("EXPLAIN ANALYZE " + statements.get(0), String.class, parameters));
+	}
+
+	private static int scanCount(String plan) {
+		Matcher matcher = SCAN_COUNT.matcher(plan);
+		assertThat(matcher.find()).as(plan).isTrue();
+		return Integer.parseInt(matcher.group(1));
+	}
+
+	// median time of pages from, from + 1, ... every query differs, H2 reuses the result of a repeated one
+	private double offsetMillis(int from, int pages, int size) {
+		double[] millis = new double[pages];
+		for (int i = 0; i < pages; i++) {
+			long start = System.nanoTime();
+			repository.orderByName(PageRequest.of(from + i, size));
+			millis[i] = (System.nanoTime() - start) / 1e6;
+		}
+		return median(millis);
+	}
+
+	private double keysetMillis(Person last, int pages, int size) {
+		double[] millis = new double[pages];
+		for (int i = 0; i < pages; i++) {
+			long start = System.nanoTime();
+			List<Person> page = last == null ? repository.orderByName(PageRequest.ofSize(size))
+					: repository.orderByNameAfter(last.getName(), last.getId(), PageRequest.ofSize(size));
+			millis[i] = (System.nanoTime() - start) / 1e6;
+			last = page.get(size - 1);
+		}
+		return median(millis);
+	}
+
+	private List<PersonDto> pageThrough(String sort, int size) throws Exception {
+		List<PersonDto> all = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/persons").param("sort", sort).param("size", "" + size);
+			PersonPage page = page(cursor == null ? request : request.param("cursor", cursor));
+			assertThat(page.items().size()).isLessThanOrEqualTo(size);
+			all.addAll(page.items());
+			cursor = page.next();
+		} while (cursor != null);
+		return all;
+	}
+
+	private PersonPage page(MockHttpServletRequestBuilder request) throws Exception {
+		String body = mvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		return mapper.readValue(body, PersonPage.class);
+	}
+
+	private void ingest(List<PersonDto> persons) {
+		ingestService.ingest(persons.iterator());
+	}
+
+	private static double median(double[] millis) {
+		Arrays.sort(millis);
+		return millis[millis.length / 2];
+	}
+
+	private static List<Long> ids(List<?> persons) {
+		return persons.stream().map(p -> p instanceof Person person ? person.getId() : ((PersonDto) p).id()).toList();
+	}
+
+	private static PersonDto person(String name) {
+		return new PersonDto(null, name, 30, "7892377483",
+				new PersonDto.AddressDto(1, "Gandhi Nagar", "Bangalore", "Karnataka", "India"));
+	}
+}
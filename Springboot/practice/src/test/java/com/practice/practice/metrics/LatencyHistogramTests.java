@@ -0,0 +1,110 @@
+package com.practice.practice.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTests {
+
+	private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+	@Test
+	void bucketsCoverEveryValueWithoutGapsOrOverlap() {
+		for (long value = 0; value < 1 << 20; value++) {
+			int index = LatencyHistogram.indexOf(value);
+			assertThat(LatencyHistogram.lowestEquivalent(index)).isLessThanOrEqualTo(value);
+			assertThat(LatencyHistogram.highestEquivalent(index)).isGreaterThanOrEqualTo(value);
+		}
+		for (int index = 1; index <= LatencyHistogram.indexOf(HOUR); index++) {
+			assertThat(LatencyHistogram.lowestEquivalent(index))
+					.isEqualTo(LatencyHistogram.highestEquivalent(index - 1) + 1);
+		}
+	}
+
+	@Test
+	void percentilesAreWithinTheBucketPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram(HOUR);
+		SplittableRandom random = new SplittableRandom(7);
+		long[] values = new long[200_000];
+		for (int i = 0; i < values.length; i++) {
+			// log-normal around a millisecond with a long tail, like request latencies
+			values[i] = (long) Math.exp(13.8 + 1.2 * gaussian(random));
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertThat(snapshot.count()).isEqualTo(values.length);
+		for (double percentile : new double[] { 50, 90, 99, 99.9, 100 }) {
+			long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+			assertThat(snapshot.valueAtPercentile(percentile)).isGreaterThanOrEqualTo(exact)
+					.isLessThanOrEqualTo(exact + exact / 64);
+		}
+		assertThat(snapshot.mean()).isCloseTo(Arrays.stream(values).average().orElseThrow(),
+				within(Arrays.stream(values).average().orElseThrow() / 64));
+	}
+
+	@Test
+	void valuesAboveTheHighestTrackableAreClamped() {
+		LatencyHistogram histogram = new LatencyHistogram(TimeUnit.SECONDS.toNanos(1));
+		histogram.record(TimeUnit.MINUTES.toNanos(5));
+		histogram.record(-1);
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertThat(snapshot.count()).isEqualTo(2);
+		assertThat(snapshot.valueAtPercentile(0)).isZero();
+		assertThat(snapshot.max()).isBetween(TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(1) * 65 / 64);
+	}
+
+	@Test
+	void intervalIsTheDifferenceOfSnapshots() {
+		LatencyHistogram histogram = new LatencyHistogram(HOUR);
+		for (int i = 0; i < 1000; i++) {
+			histogram.record(1_000_000);
+		}
+		LatencyHistogram.Snapshot before = histogram.snapshot();
+		for (int i = 0; i < 10; i++) {
+			histogram.record(50_000_000);
+		}
+
+		LatencyHistogram.Snapshot interval = histogram.snapshot().minus(before);
+		assertThat(interval.count()).isEqualTo(10);
+		assertThat(interval.valueAtPercentile(50)).isBetween(50_000_000L, 50_000_000L * 65 / 64);
+		assertThat(before.minus(before).count()).isZero();
+		assertThat(before.minus(before).valueAtPercentile(99)).isZero();
+	}
+
+	@Test
+	void concurrentWritersLoseNothing() throws InterruptedException {
+		LatencyHistogram histogram = new LatencyHistogram(HOUR);
+		int threads = 4, perThread = 250_000;
+		List<Thread> writers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long seed = t;
+			writers.add(new Thread(() -> {
+				SplittableRandom random = new SplittableRandom(seed);
+				for (int i = 0; i < perThread; i++) {
+					histogram.record(random.nextLong(1, 10_000_000));
+				}
+			}));
+		}
+		writers.forEach(Thread::start);
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		assertThat(histogram.snapshot().count()).isEqualTo((long) threads * perThread);
+	}
+
+	private static double gaussian(SplittableRandom random) {
+		// Box-Muller, SplittableRandom has no nextGaussian on 17
+		return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+	}
+}